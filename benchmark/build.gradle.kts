@@ -0,0 +1,20 @@
+plugins {
+    id("me.champeau.jmh") version "0.7.2"
+}
+
+dependencies {
+    jmh(project(":core"))
+    jmh("com.mojang:brigadier:1.3.10")
+    jmh("com.google.code.gson:gson:2.12.1")
+    jmh("net.kyori:adventure-api:4.18.0")
+    jmh("net.kyori:adventure-text-minimessage:4.18.0")
+    jmhAnnotationProcessor(project(":processor"))
+}
+
+jmh {
+    warmupIterations = 3
+    iterations = 5
+    fork = 1
+    profilers = listOf("gc")
+    resultFormat = "JSON"
+}
@@ -0,0 +1,19 @@
+package kr.toxicity.command.benchmark;
+
+import kr.toxicity.command.BetterCommandSource;
+import kr.toxicity.command.CommandListener;
+import kr.toxicity.command.impl.annotation.*;
+import net.kyori.adventure.text.Component;
+
+/**
+ * Sub-commands used by benchmarks
+ */
+public final class BenchmarkChildListener implements CommandListener {
+
+    @Command
+    @Description(key = "benchmark.child.ping", defaultValue = "Pong.")
+    @Permission("benchmark.child.ping")
+    public void ping(@Source BetterCommandSource me) {
+        me.audience().sendMessage(Component.empty());
+    }
+}
@@ -0,0 +1,72 @@
+package kr.toxicity.command.benchmark;
+
+import com.google.gson.stream.JsonWriter;
+import kr.toxicity.command.impl.CommandMessage;
+import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Generates and deletes lang directories of benchmarks
+ */
+public final class BenchmarkFiles {
+
+    private static final List<CommandMessage> MESSAGES = new ArrayList<>();
+
+    private BenchmarkFiles() {
+        throw new RuntimeException();
+    }
+
+    /**
+     * Gets messages with generated keys.
+     * A key can be generated only once, so messages are shared by all benchmarks in same JVM.
+     * @param keys the number of keys
+     * @return messages
+     */
+    public static synchronized @NotNull List<CommandMessage> messages(int keys) {
+        for (int i = MESSAGES.size(); i < keys; i++) {
+            MESSAGES.add(new CommandMessage("benchmark.message." + i, Component.text("Message " + i + " of [value].")));
+        }
+        return List.copyOf(MESSAGES.subList(0, keys));
+    }
+
+    /**
+     * Writes lang file of these messages
+     * @param folder lang directory
+     * @param locale locale of file
+     * @param messages messages
+     * @throws IOException if unable to write
+     */
+    public static void writeLang(@NotNull Path folder, @NotNull Locale locale, @NotNull List<CommandMessage> messages) throws IOException {
+        var file = folder.resolve(locale.getLanguage() + "_" + locale.getCountry() + ".json");
+        try (var writer = Files.newBufferedWriter(file); var json = new JsonWriter(writer)) {
+            json.setIndent(" ");
+            json.beginObject();
+            for (CommandMessage message : messages) {
+                json.name(message.key()).value("<gray>" + locale.getLanguage() + " " + message.key() + " of <aqua>[value]</aqua>.");
+            }
+            json.endObject();
+        }
+    }
+
+    /**
+     * Deletes directory and all files in it
+     * @param folder target directory
+     * @throws IOException if unable to delete
+     */
+    public static void delete(@NotNull Path folder) throws IOException {
+        if (!Files.exists(folder)) return;
+        try (var walk = Files.walk(folder)) {
+            for (Path path : walk.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package kr.toxicity.command.benchmark;
+
+import kr.toxicity.command.impl.ClassSerializer;
+import kr.toxicity.command.impl.SuggestionIndex;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * A generated item used as a custom argument
+ * @param name item name
+ */
+public record BenchmarkItem(@NotNull String name) {
+
+    /**
+     * Generates items
+     * @param size the number of items
+     * @return items
+     */
+    public static @NotNull List<BenchmarkItem> generate(int size) {
+        var list = new ArrayList<BenchmarkItem>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(new BenchmarkItem("item_" + Integer.toString(i, 36) + "_" + (i % 7 == 0 ? "rare" : "common")));
+        }
+        return list;
+    }
+
+    /**
+     * Creates a serializer which filters all names by each call
+     * @param items items
+     * @return serializer
+     */
+    public static @NotNull ClassSerializer<BenchmarkItem> listSerializer(@NotNull List<BenchmarkItem> items) {
+        var map = lookup(items);
+        var names = items.stream().map(BenchmarkItem::name).toList();
+        return ClassSerializer.builder((source, raw) -> map.get(raw))
+                .name("list_item")
+                .suggests(source -> names)
+                .build();
+    }
+
+    /**
+     * Creates a serializer which finds names by a sorted index
+     * @param items items
+     * @return serializer
+     */
+    public static @NotNull ClassSerializer<BenchmarkItem> indexSerializer(@NotNull List<BenchmarkItem> items) {
+        var map = lookup(items);
+        var index = SuggestionIndex.of(items.stream().map(BenchmarkItem::name).toList());
+        return ClassSerializer.builder((source, raw) -> map.get(raw))
+                .name("item")
+                .index(source -> index)
+                .build();
+    }
+
+    private static @NotNull Map<String, BenchmarkItem> lookup(@NotNull List<BenchmarkItem> items) {
+        return items.stream().collect(Collectors.toMap(BenchmarkItem::name, Function.identity()));
+    }
+}
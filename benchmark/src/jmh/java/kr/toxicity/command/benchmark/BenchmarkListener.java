@@ -0,0 +1,45 @@
+package kr.toxicity.command.benchmark;
+
+import kr.toxicity.command.BetterCommandSource;
+import kr.toxicity.command.CommandListener;
+import kr.toxicity.command.impl.annotation.*;
+import net.kyori.adventure.text.Component;
+
+/**
+ * Commands used by benchmarks
+ */
+public final class BenchmarkListener implements CommandListener {
+
+    @Command
+    @Description(key = "benchmark.ping", defaultValue = "Pong.")
+    @Permission("benchmark.ping")
+    public void ping(@Source BetterCommandSource me) {
+        me.audience().sendMessage(Component.empty());
+    }
+
+    @Command
+    @Description(key = "benchmark.add", defaultValue = "Adds two numbers.")
+    @Permission("benchmark.add")
+    @Aliases(aliases = "plus")
+    public void add(@Source BetterCommandSource me, Integer a, Integer b) {
+        me.audience().sendMessage(Component.text(a + b));
+    }
+
+    @Command
+    @Description(key = "benchmark.scale", defaultValue = "Scales a number.")
+    public void scale(@Source BetterCommandSource me, Double value, @Option Double factor) {
+        me.audience().sendMessage(Component.text(value * (factor != null ? factor : 1)));
+    }
+
+    @Command
+    @Description(key = "benchmark.echo", defaultValue = "Echoes message.")
+    public void echo(@Source BetterCommandSource me, String name, @Vararg @Option String message) {
+        me.audience().sendMessage(Component.text(name + ": " + message));
+    }
+
+    @Command
+    @Description(key = "benchmark.pick", defaultValue = "Picks an item.")
+    public void pick(@Source BetterCommandSource me, BenchmarkItem item) {
+        me.audience().sendMessage(Component.text(item.name()));
+    }
+}
@@ -0,0 +1,72 @@
+package kr.toxicity.command.benchmark;
+
+import kr.toxicity.command.BetterCommandSource;
+import kr.toxicity.command.SenderType;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Locale;
+
+/**
+ * A command source which keeps the last received message instead of printing it
+ */
+public final class BenchmarkSource implements BetterCommandSource, Audience {
+
+    private final Locale locale;
+    private final SenderType type;
+    private Component last = Component.empty();
+    private int received;
+
+    /**
+     * Creates source
+     * @param locale locale
+     * @param type sender type
+     */
+    public BenchmarkSource(@NotNull Locale locale, @NotNull SenderType type) {
+        this.locale = locale;
+        this.type = type;
+    }
+
+    @Override
+    public @NotNull Audience audience() {
+        return this;
+    }
+
+    @Override
+    public @NotNull Locale locale() {
+        return locale;
+    }
+
+    @Override
+    public boolean hasPermission(@NotNull String permission) {
+        return true;
+    }
+
+    @Override
+    public @NotNull SenderType type() {
+        return type;
+    }
+
+    @Override
+    public void sendMessage(@NotNull Component message) {
+        last = message;
+        received++;
+    }
+
+    /**
+     * Gets the last received message
+     * @return message
+     */
+    public @NotNull Component last() {
+        return last;
+    }
+
+    /**
+     * Gets the number of received messages
+     * @return count
+     */
+    public int received() {
+        return received;
+    }
+}
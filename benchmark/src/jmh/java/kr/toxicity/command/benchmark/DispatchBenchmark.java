@@ -0,0 +1,83 @@
+package kr.toxicity.command.benchmark;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.ParseResults;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import kr.toxicity.command.SenderType;
+import kr.toxicity.command.impl.BetterCommand;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Brigadier dispatch through a tree built by CommandModule, including argument parsing and invocation of MethodExecutor
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DispatchBenchmark {
+
+    @Param({
+            "ping",
+            "add 12 30",
+            "plus 12 30",
+            "scale 1.5 2",
+            "echo user hello brigadier world",
+            "pick item_a_common",
+            "child ping",
+            "help 2"
+    })
+    public String input;
+
+    private Path folder;
+    private CommandDispatcher<BenchmarkSource> dispatcher;
+    private BenchmarkSource source;
+    private String command;
+    private ParseResults<BenchmarkSource> parsed;
+
+    @Setup
+    public void setup() throws IOException {
+        folder = Files.createTempDirectory("bettercommand-dispatch");
+        var library = new BetterCommand(folder.toFile(), MiniMessage.miniMessage())
+                .silentLog(() -> true)
+                .addSerializer(BenchmarkItem.class, BenchmarkItem.indexSerializer(BenchmarkItem.generate(1000)));
+        var module = library.<BenchmarkSource>module("bench")
+                .executes(new BenchmarkListener())
+                .children("child", child -> child.executes(new BenchmarkChildListener()));
+        dispatcher = new CommandDispatcher<>();
+        for (LiteralArgumentBuilder<BenchmarkSource> builder : module.build(Function.identity())) {
+            dispatcher.register(builder);
+        }
+        source = new BenchmarkSource(Locale.US, SenderType.PLAYER);
+        command = "bench " + input;
+        parsed = dispatcher.parse(command, source);
+        if (parsed.getReader().canRead()) throw new IllegalStateException("Unable to parse: " + command);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        BenchmarkFiles.delete(folder);
+    }
+
+    @Benchmark
+    public ParseResults<BenchmarkSource> parse() {
+        return dispatcher.parse(command, source);
+    }
+
+    @Benchmark
+    public int executeParsed() throws CommandSyntaxException {
+        return dispatcher.execute(parsed);
+    }
+
+    @Benchmark
+    public int execute() throws CommandSyntaxException {
+        return dispatcher.execute(command, source);
+    }
+}
@@ -0,0 +1,75 @@
+package kr.toxicity.command.benchmark;
+
+import kr.toxicity.command.MessageSender;
+import kr.toxicity.command.SenderType;
+import kr.toxicity.command.impl.BetterCommand;
+import kr.toxicity.command.impl.CommandMessage;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Message rendering of registered keys, including lookup of lang by locale of source
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MessageBenchmark {
+
+    /**
+     * en_US and ko_KR have a lang file, en_GB falls back to its language and fr_FR to default message.
+     */
+    @Param({"en_US", "ko_KR", "en_GB", "fr_FR"})
+    public String locale;
+
+    private Path folder;
+    private MessageSender plain;
+    private MessageSender placeholder;
+    private BenchmarkSource source;
+    private final Component value = Component.text("value");
+    private final Map<String, Component> map = Map.of("value", value);
+
+    @Setup
+    public void setup() throws IOException {
+        folder = Files.createTempDirectory("bettercommand-message");
+        var messages = BenchmarkFiles.messages(100);
+        BenchmarkFiles.writeLang(folder, Locale.US, messages);
+        BenchmarkFiles.writeLang(folder, Locale.KOREA, messages);
+        var library = new BetterCommand(folder.toFile(), MiniMessage.miniMessage()).silentLog(() -> true);
+        plain = library.registerKey(new CommandMessage("benchmark.render.plain", Component.text("Hello world!")));
+        placeholder = library.registerKey(messages.get(50), "value");
+        library.reload();
+        var split = locale.split("_");
+        source = new BenchmarkSource(new Locale(split[0], split[1]), SenderType.PLAYER);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        BenchmarkFiles.delete(folder);
+    }
+
+    @Benchmark
+    public Component sendPlain() {
+        plain.send(source);
+        return source.last();
+    }
+
+    @Benchmark
+    public Component sendPositional() {
+        placeholder.send(source, value);
+        return source.last();
+    }
+
+    @Benchmark
+    public Component sendMap() {
+        placeholder.send(source, map);
+        return source.last();
+    }
+}
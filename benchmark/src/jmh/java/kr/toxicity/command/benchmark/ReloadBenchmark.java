@@ -0,0 +1,62 @@
+package kr.toxicity.command.benchmark;
+
+import kr.toxicity.command.ReloadState;
+import kr.toxicity.command.impl.BetterCommand;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reload over generated lang directories
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ReloadBenchmark {
+
+    private static final Locale[] LOCALES = Locale.getAvailableLocales();
+
+    @Param({"1", "8"})
+    public int files;
+
+    @Param({"100", "2000"})
+    public int keys;
+
+    @Param({"false", "true"})
+    public boolean bundleCache;
+
+    private Path folder;
+    private BetterCommand library;
+
+    @Setup
+    public void setup() throws IOException {
+        folder = Files.createTempDirectory("bettercommand-reload");
+        var messages = BenchmarkFiles.messages(keys);
+        var written = 0;
+        for (Locale locale : LOCALES) {
+            if (written >= files) break;
+            if (locale.getLanguage().isEmpty() || locale.getCountry().isEmpty() || !locale.getVariant().isEmpty() || !locale.getScript().isEmpty()) continue;
+            BenchmarkFiles.writeLang(folder, locale, messages);
+            written++;
+        }
+        library = new BetterCommand(folder.toFile(), MiniMessage.miniMessage())
+                .silentLog(() -> true)
+                .bundleCache(bundleCache);
+        if (!(library.reload() instanceof ReloadState.Success)) throw new IllegalStateException("Unable to reload.");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        BenchmarkFiles.delete(folder);
+    }
+
+    @Benchmark
+    public ReloadState reload() {
+        return library.reload();
+    }
+}
@@ -0,0 +1,82 @@
+package kr.toxicity.command.benchmark;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.suggestion.Suggestions;
+import kr.toxicity.command.SenderType;
+import kr.toxicity.command.impl.BetterCommand;
+import kr.toxicity.command.impl.ClassSerializer;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Suggestion generation of ClassSerializer, directly and through tab-complete of brigadier
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SuggestionBenchmark {
+
+    @Param({"100", "10000"})
+    public int size;
+
+    @Param({"", "item_1", "item_zzz"})
+    public String prefix;
+
+    @Param({"100"})
+    public int limit;
+
+    private Path folder;
+    private ClassSerializer<BenchmarkItem> list;
+    private ClassSerializer<BenchmarkItem> index;
+    private CommandDispatcher<BenchmarkSource> dispatcher;
+    private BenchmarkSource source;
+    private String command;
+
+    @Setup
+    public void setup() throws IOException {
+        var items = BenchmarkItem.generate(size);
+        list = BenchmarkItem.listSerializer(items);
+        index = BenchmarkItem.indexSerializer(items);
+        folder = Files.createTempDirectory("bettercommand-suggestion");
+        var library = new BetterCommand(folder.toFile(), MiniMessage.miniMessage())
+                .silentLog(() -> true)
+                .suggestionLimit(limit)
+                .addSerializer(BenchmarkItem.class, index);
+        var module = library.<BenchmarkSource>module("bench").executes(new BenchmarkListener());
+        dispatcher = new CommandDispatcher<>();
+        for (LiteralArgumentBuilder<BenchmarkSource> builder : module.build(Function.identity())) {
+            dispatcher.register(builder);
+        }
+        source = new BenchmarkSource(Locale.US, SenderType.PLAYER);
+        command = "bench pick " + prefix;
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        BenchmarkFiles.delete(folder);
+    }
+
+    @Benchmark
+    public List<String> listSuggests() {
+        return list.suggests(source, prefix, limit);
+    }
+
+    @Benchmark
+    public List<String> indexSuggests() {
+        return index.suggests(source, prefix, limit);
+    }
+
+    @Benchmark
+    public Suggestions tabComplete() {
+        return dispatcher.getCompletionSuggestions(dispatcher.parse(command, source)).join();
+    }
+}
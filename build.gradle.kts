@@ -32,6 +32,7 @@ allprojects {
         }
         compileJava {
             options.encoding = Charsets.UTF_8.name()
+            options.compilerArgs.add("-parameters")
         }
     }
 
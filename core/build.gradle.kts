@@ -19,6 +19,9 @@ signing {
 dependencies {
     compileOnly("com.google.code.gson:gson:2.12.1")
     compileOnly("net.kyori:adventure-api:4.18.0")
+
+    testImplementation("com.mojang:brigadier:1.3.10")
+    testImplementation("net.kyori:adventure-api:4.18.0")
 }
 
 mavenPublishing  {
@@ -33,4 +33,14 @@ public interface BetterCommandSource {
      * @return type
      */
     @NotNull SenderType type();
+
+    /**
+     * Gets an identity of source.
+     * A same sender should return an equal identity for every wrapped source.
+     * Cached requirements are kept by reference while the identity is alive, so a long-lived instance (e.g. a player) should be returned.
+     * @return identity
+     */
+    default @NotNull Object identity() {
+        return audience();
+    }
 }
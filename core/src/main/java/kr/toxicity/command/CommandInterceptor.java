@@ -0,0 +1,41 @@
+package kr.toxicity.command;
+
+import kr.toxicity.command.impl.CommandInvocation;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An interceptor of command method.
+ * Interceptors run in order of main class, parent modules and the module of command.
+ * Each interceptor wraps the next one, so before is called in order and after in reverse order.
+ */
+public interface CommandInterceptor {
+    /**
+     * Called before the next interceptor
+     * @param invocation invocation
+     * @return whether to continue. if false, the command method and remaining interceptors are not called.
+     */
+    default boolean before(@NotNull CommandInvocation invocation) {
+        return true;
+    }
+
+    /**
+     * Calls the next interceptor.
+     * Override this to wrap execution (e.g. tracing span), and call invocation.proceed() once.
+     * @param invocation invocation
+     * @return returned value of command method
+     * @throws Throwable if command method throws an exception
+     */
+    default @Nullable Object around(@NotNull CommandInvocation invocation) throws Throwable {
+        return invocation.proceed();
+    }
+
+    /**
+     * Called after the next interceptor, even if it throws an exception
+     * @param invocation invocation
+     * @param result returned value of command method
+     * @param throwable thrown exception or null
+     */
+    default void after(@NotNull CommandInvocation invocation, @Nullable Object result, @Nullable Throwable throwable) {
+    }
+}
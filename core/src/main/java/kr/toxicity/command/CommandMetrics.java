@@ -0,0 +1,58 @@
+package kr.toxicity.command;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Metrics of command execution and suggestion.
+ * A command is identified by its path in help command (e.g. "mycommand child die").
+ */
+public interface CommandMetrics {
+    /**
+     * Records a completed execution
+     * @param path command path
+     * @param nanos execution time (ns)
+     */
+    void executed(@NotNull String path, long nanos);
+
+    /**
+     * Records an execution which throws an exception
+     * @param path command path
+     * @param nanos execution time (ns)
+     * @param throwable thrown exception
+     */
+    void failed(@NotNull String path, long nanos, @NotNull Throwable throwable);
+
+    /**
+     * Records an execution rejected by a null argument
+     * @param path command path
+     */
+    void rejected(@NotNull String path);
+
+    /**
+     * Records a suggestion call
+     * @param serializer name of serializer
+     * @param nanos suggestion time (ns)
+     */
+    void suggested(@NotNull String serializer, long nanos);
+
+    /**
+     * Metrics which records nothing. A command doesn't even read time with this.
+     */
+    CommandMetrics NOOP = new CommandMetrics() {
+        @Override
+        public void executed(@NotNull String path, long nanos) {
+        }
+
+        @Override
+        public void failed(@NotNull String path, long nanos, @NotNull Throwable throwable) {
+        }
+
+        @Override
+        public void rejected(@NotNull String path) {
+        }
+
+        @Override
+        public void suggested(@NotNull String serializer, long nanos) {
+        }
+    };
+}
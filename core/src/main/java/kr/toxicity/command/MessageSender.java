@@ -4,6 +4,7 @@ import net.kyori.adventure.text.Component;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -35,6 +36,43 @@ public interface MessageSender {
         send(source, Collections.emptyMap());
     }
 
+    /**
+     * Gets placeholder names of positional parameters
+     * @return placeholder names
+     */
+    default @NotNull String[] placeholders() {
+        return new String[0];
+    }
+
+    /**
+     * Sends message to source
+     * @param level logger level
+     * @param source target source
+     * @param values parameters in order of placeholders
+     * @throws IllegalArgumentException if values are more than placeholders
+     * @see #placeholders()
+     */
+    default void send(@NotNull SendLevel level, @NotNull BetterCommandSource source, @NotNull Component... values) {
+        var placeholders = placeholders();
+        if (values.length > placeholders.length) throw new IllegalArgumentException("Expected at most " + placeholders.length + " values but " + values.length + " given.");
+        var map = new HashMap<String, Component>();
+        for (int i = 0; i < values.length; i++) {
+            map.put(placeholders[i], values[i]);
+        }
+        send(level, source, map);
+    }
+
+    /**
+     * Sends message to source
+     * @param source target source
+     * @param values parameters in order of placeholders
+     * @throws IllegalArgumentException if values are more than placeholders
+     * @see #placeholders()
+     */
+    default void send(@NotNull BetterCommandSource source, @NotNull Component... values) {
+        send(SendLevel.INFO, source, values);
+    }
+
     /**
      * Logger level
      */
@@ -3,6 +3,9 @@ package kr.toxicity.command;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.Map;
 
 /**
  * A state of reload
@@ -22,9 +25,27 @@ public sealed interface ReloadState {
 
     /**
      * Reload success
-     * @param time reload time
+     * @param time reload time (ms)
+     * @param fileTime load time of each lang file (ms)
      */
-    record Success(long time) implements ReloadState {}
+    record Success(long time, @NotNull @Unmodifiable Map<String, Long> fileTime) implements ReloadState {
+        /**
+         * Reload success
+         * @param time reload time (ms)
+         * @param fileTime load time of each lang file (ms)
+         */
+        public Success {
+            fileTime = Map.copyOf(fileTime);
+        }
+
+        /**
+         * Reload success
+         * @param time reload time (ms)
+         */
+        public Success(long time) {
+            this(time, Map.of());
+        }
+    }
 
     /**
      * Reload failure
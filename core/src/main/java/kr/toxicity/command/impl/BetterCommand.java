@@ -2,31 +2,32 @@ package kr.toxicity.command.impl;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
 import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.MalformedJsonException;
 import kr.toxicity.command.BetterCommandSource;
+import kr.toxicity.command.CommandInterceptor;
 import kr.toxicity.command.CommandLogger;
+import kr.toxicity.command.CommandMetrics;
 import kr.toxicity.command.MessageSender;
 import kr.toxicity.command.ReloadState;
 import kr.toxicity.command.impl.exception.NotDirectoryException;
 import kr.toxicity.command.impl.exception.NotJsonObjectException;
 import lombok.Getter;
 import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.TextReplacementConfig;
 import net.kyori.adventure.text.serializer.ComponentSerializer;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.*;
-import java.util.LinkedHashMap;
-import java.util.Locale;
-import java.util.Map;
-import java.util.Objects;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
-import java.util.regex.Pattern;
 
 /**
  * BetterCommand!
@@ -34,20 +35,31 @@ import java.util.regex.Pattern;
 @SuppressWarnings("unused")
 public final class BetterCommand {
 
-    private static final Pattern VALUE_PATTERN = Pattern.compile("\\[(?<value>[a-zA-Z]+)]");
+    private static final String CACHE_FOLDER = ".cache";
 
     private final File dataFolder;
     private final Map<Class<?>, ClassSerializer<?>> serializerMap = new LinkedHashMap<>();
+    private final List<CommandInterceptor> interceptors = new ArrayList<>();
     private final Gson gson = new GsonBuilder()
             .disableHtmlEscaping()
             .create();
 
     private Consumer<Throwable> exceptionHandler = e -> {};
+    private Executor reloadExecutor;
+    private Executor commandExecutor;
+    private Executor mainThreadExecutor = Runnable::run;
+    private boolean bundleCache;
+    private volatile CommandMetrics metrics = CommandMetrics.NOOP;
+    int suggestionLimit = Integer.MAX_VALUE;
 
     private final CommandLogger logger;
     private CommandPrefix prefix = CommandPrefix.DEFAULT;
     final ComponentSerializer<Component, Component, String> serializer;
     final MessageRegistry registry;
+    final SuggestionDispatcher suggestionDispatcher = new SuggestionDispatcher(this);
+    final RequirementCache requirementCache = new RequirementCache();
+    final WeakIdentityMap<BetterCommandSource, OutputBuffer> outputs = new WeakIdentityMap<>();
+    private final AtomicLong helpGeneration = new AtomicLong();
 
     @Getter
     private Supplier<Boolean> silentLog = () -> false;
@@ -136,6 +148,7 @@ public final class BetterCommand {
     public @NotNull BetterCommand prefix(@NotNull CommandPrefix prefix) {
         Objects.requireNonNull(prefix, "prefix");
         this.prefix = prefix;
+        helpGeneration.incrementAndGet();
         return this;
     }
 
@@ -151,6 +164,203 @@ public final class BetterCommand {
         return this;
     }
 
+    /**
+     * Sets executor of lang file loading.
+     * If executor is null, all lang files are loaded in the reload thread.
+     * @param executor executor (e.g. ForkJoinPool.commonPool())
+     * @return self
+     */
+    public @NotNull BetterCommand reloadExecutor(@Nullable Executor executor) {
+        this.reloadExecutor = executor;
+        return this;
+    }
+
+    /**
+     * Sets whether to cache lang files as binary bundle.
+     * A bundle is stored in .cache folder of data folder, and is used instead of json if its source is not changed.
+     * @param bundleCache whether to use bundle
+     * @return self
+     */
+    public @NotNull BetterCommand bundleCache(boolean bundleCache) {
+        this.bundleCache = bundleCache;
+        return this;
+    }
+
+    /**
+     * Sets executor of @Async command.
+     * If executor is null, a virtual thread executor is used if available, otherwise a cached thread pool.
+     * @param executor executor
+     * @return self
+     * @see kr.toxicity.command.impl.annotation.Async
+     */
+    public @NotNull BetterCommand commandExecutor(@Nullable Executor executor) {
+        this.commandExecutor = executor;
+        return this;
+    }
+
+    /**
+     * Gets executor of @Async command
+     * @return executor
+     */
+    public @NotNull Executor commandExecutor() {
+        var executor = commandExecutor;
+        return executor != null ? executor : DefaultExecutor.EXECUTOR;
+    }
+
+    /**
+     * Sets executor of platform main thread (e.g. task -> Bukkit.getScheduler().runTask(plugin, task))
+     * @param executor executor
+     * @return self
+     */
+    public @NotNull BetterCommand mainThreadExecutor(@NotNull Executor executor) {
+        this.mainThreadExecutor = Objects.requireNonNull(executor, "executor");
+        return this;
+    }
+
+    /**
+     * Gets executor of platform main thread.
+     * An @Async command can hop back to main thread by this (e.g. future.thenAcceptAsync(consumer, mainThreadExecutor())).
+     * If not set, a task runs on the calling thread.
+     * @return executor
+     */
+    public @NotNull Executor mainThreadExecutor() {
+        return mainThreadExecutor;
+    }
+
+    /**
+     * Adds interceptor of all command methods.
+     * It runs before interceptors of modules, and is applied to modules built after this call.
+     * @param interceptor interceptor
+     * @return self
+     */
+    public @NotNull BetterCommand interceptor(@NotNull CommandInterceptor interceptor) {
+        interceptors.add(Objects.requireNonNull(interceptor, "interceptor"));
+        return this;
+    }
+
+    /**
+     * Gets interceptors of all command methods
+     * @return interceptors
+     */
+    @NotNull List<CommandInterceptor> interceptors() {
+        return interceptors;
+    }
+
+    /**
+     * Sets metrics of command execution and suggestion
+     * @param metrics metrics (default: CommandMetrics.NOOP)
+     * @return self
+     * @see MetricsRecorder
+     */
+    public @NotNull BetterCommand metrics(@NotNull CommandMetrics metrics) {
+        this.metrics = Objects.requireNonNull(metrics, "metrics");
+        return this;
+    }
+
+    /**
+     * Gets metrics of command execution and suggestion
+     * @return metrics
+     */
+    public @NotNull CommandMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * Sets max size of suggestions of each argument
+     * @param limit max size
+     * @return self
+     */
+    public @NotNull BetterCommand suggestionLimit(int limit) {
+        if (limit <= 0) throw new IllegalArgumentException("limit must be positive.");
+        this.suggestionLimit = limit;
+        return this;
+    }
+
+    /**
+     * Sets executor of asynchronous suggestion.
+     * If executor is null, a virtual thread executor is used if available, otherwise a cached thread pool.
+     * @param executor executor
+     * @return self
+     * @see ClassSerializer#asyncSuggests()
+     */
+    public @NotNull BetterCommand suggestionExecutor(@Nullable Executor executor) {
+        suggestionDispatcher.executor(executor);
+        return this;
+    }
+
+    /**
+     * Sets timeout of asynchronous suggestion. a timed out request is answered with no suggestion.
+     * @param timeout timeout (ms)
+     * @return self
+     */
+    public @NotNull BetterCommand suggestionTimeout(long timeout) {
+        if (timeout <= 0) throw new IllegalArgumentException("timeout must be positive.");
+        suggestionDispatcher.timeout(timeout);
+        return this;
+    }
+
+    /**
+     * Sets whether to cache node requirements of each source.
+     * If enabled, permission changes are not applied until invalidated.
+     * @param enabled whether to cache
+     * @return self
+     * @see #invalidateRequirements(BetterCommandSource)
+     */
+    public @NotNull BetterCommand requirementCache(boolean enabled) {
+        requirementCache.enabled(enabled);
+        return this;
+    }
+
+    /**
+     * Invalidates cached requirements of this source (e.g. after its permission is changed).
+     * Resend command tree to the client after invalidation.
+     * @param source target source
+     * @return self
+     */
+    public @NotNull BetterCommand invalidateRequirements(@NotNull BetterCommandSource source) {
+        Objects.requireNonNull(source, "source");
+        requirementCache.invalidate(source.identity());
+        return this;
+    }
+
+    /**
+     * Invalidates cached requirements of all source
+     * @return self
+     */
+    public @NotNull BetterCommand invalidateRequirements() {
+        requirementCache.invalidateAll();
+        return this;
+    }
+
+    /**
+     * Invalidates cached help pages of all modules.
+     * Help pages are invalidated on reload and usage is rendered for each source, so this is rarely needed.
+     * @return self
+     */
+    public @NotNull BetterCommand invalidateHelp() {
+        helpGeneration.incrementAndGet();
+        return this;
+    }
+
+    /**
+     * Gets generation of rendered help which is changed when lang or prefix is changed
+     * @return generation
+     */
+    long helpGeneration() {
+        return registry.generation() + helpGeneration.get();
+    }
+
+    /**
+     * Sets server default locale.
+     * A message not found in source's locale or its language is found in this locale before default message.
+     * @param locale default locale or null to use default message
+     * @return self
+     */
+    public @NotNull BetterCommand defaultLocale(@Nullable Locale locale) {
+        registry.defaultLocale(locale);
+        return this;
+    }
+
     /**
      * Handle exception
      * @param throwable exception or error
@@ -189,16 +399,36 @@ public final class BetterCommand {
                 logger.warn("Unable to make a directory in " + dataFolder.getPath());
             }
             var listFiles = dataFolder.listFiles();
-            registry.clear();
+            var loader = registry.loader();
+            var fileTime = new LinkedHashMap<String, Long>();
             if (listFiles != null) {
-                for (File file : listFiles) {
-                    addLang(file);
+                var executor = reloadExecutor;
+                List<LangFile> langFiles;
+                if (executor == null) {
+                    langFiles = Arrays.stream(listFiles)
+                            .filter(File::isFile)
+                            .map(this::loadLang)
+                            .toList();
+                } else {
+                    langFiles = Arrays.stream(listFiles)
+                            .filter(File::isFile)
+                            .map(file -> CompletableFuture.supplyAsync(() -> loadLang(file), executor))
+                            .toList()
+                            .stream()
+                            .map(CompletableFuture::join)
+                            .toList();
+                }
+                for (LangFile langFile : langFiles) {
+                    fileTime.put(langFile.file.getName(), langFile.time);
+                    if (langFile.templates == null) continue;
+                    if (loader.register(langFile.locale, langFile.templates)) logger.info("New lang file loaded: " + langFile.locale);
                 }
             }
+            loader.publish();
             synchronized (this) {
                 onReload = false;
             }
-            return new ReloadState.Success(System.currentTimeMillis() - time);
+            return new ReloadState.Success(System.currentTimeMillis() - time, fileTime);
         } catch (Exception any) {
             synchronized (this) {
                 onReload = false;
@@ -207,6 +437,33 @@ public final class BetterCommand {
         }
     }
 
+    /**
+     * Starts watching lang files in data folder.
+     * Only changed lang files are reloaded.
+     * @return watcher
+     */
+    public @NotNull LangWatcher watch() {
+        return watch(500);
+    }
+
+    /**
+     * Starts watching lang files in data folder.
+     * Only changed lang files are reloaded.
+     * @param debounce time to wait for more changes (ms)
+     * @return watcher
+     */
+    public @NotNull LangWatcher watch(long debounce) {
+        if (!dataFolder.exists() && !dataFolder.mkdirs()) {
+            logger.warn("Unable to make a directory in " + dataFolder.getPath());
+        }
+        try {
+            return new LangWatcher(this, dataFolder, debounce);
+        } catch (IOException e) {
+            handleException(e);
+            throw new RuntimeException(e);
+        }
+    }
+
     /**
      * Generates lang file fit locale
      * @param locale target locale
@@ -215,9 +472,9 @@ public final class BetterCommand {
     public boolean generateDefaultLang(@NotNull Locale locale) {
         if (registry.contains(locale)) return false;
         var file = new File(dataFolder, locale.getLanguage().toLowerCase() + "_" + locale.getCountry().toUpperCase() + ".json");
-        var object = file.exists() ? parseFile(file) : new JsonObject();
+        var raw = file.exists() ? parseFile(file, reader -> MessageRegistry.raw(locale, reader)) : new LinkedHashMap<String, String>();
         for (CommandMessage allMessage : CommandMessage.allMessages()) {
-            object.addProperty(allMessage.key(), serializer.serialize(allMessage.defaultMessage()));
+            raw.put(allMessage.key(), serializer.serialize(allMessage.defaultMessage()));
         }
         try (
                 var stream = new FileWriter(file);
@@ -225,10 +482,10 @@ public final class BetterCommand {
                 var json = new JsonWriter(buffer)
         ) {
             json.setIndent(" ");
-            gson.toJson(object, json);
+            gson.toJson(raw, Map.class, json);
             registry.register(
                     locale,
-                    object
+                    raw
             );
         } catch (IOException e) {
             handleException(e, "Unable to create lang file to " + file.getPath());
@@ -237,34 +494,74 @@ public final class BetterCommand {
     }
 
     /**
-     * Adds lang file
+     * Loads lang file
      * @param file target file
+     * @return loaded lang
      */
-    private void addLang(@NotNull File file) {
+    @NotNull LangFile loadLang(@NotNull File file) {
+        var time = System.currentTimeMillis();
         var fileName = FileName.parse(file);
-        if (fileName.extension == null || !fileName.extension.equals("json")) {
+        if (!fileName.isJson()) {
             logger.warn("This file is not a json. skipped: " + file.getPath());
-            return;
+            return new LangFile(file, null, null, System.currentTimeMillis() - time);
         }
         try {
-            var localeSplit = fileName.name.split("_");
-            var locale = localeSplit.length == 1 ? new Locale(localeSplit[0]) : new Locale(localeSplit[0].toLowerCase(), localeSplit[1].toUpperCase());
-            registry.register(
-                    locale,
-                    parseFile(file)
-            );
-            logger.info("New lang file loaded: " + locale);
+            var locale = fileName.locale();
+            return new LangFile(file, locale, readLang(locale, file), System.currentTimeMillis() - time);
         } catch (Exception e) {
             handleException(e, "Unable to read this file: " + file.getPath());
+            return new LangFile(file, null, null, System.currentTimeMillis() - time);
         }
     }
 
+    /**
+     * Reads templates of lang file from bundle or json
+     * @param locale target locale
+     * @param file target file
+     * @return immutable templates
+     */
+    private @NotNull Map<String, MessageTemplate> readLang(@NotNull Locale locale, @NotNull File file) {
+        if (!bundleCache) return parseFile(file, reader -> registry.compile(locale, reader));
+        var bundle = LangBundle.file(new File(dataFolder, CACHE_FOLDER), file);
+        try {
+            var cached = LangBundle.read(bundle, file);
+            if (cached != null) return registry.compile(cached);
+        } catch (IOException e) {
+            handleException(e, "Unable to read lang bundle: " + bundle.getPath());
+        }
+        var length = file.length();
+        var modified = file.lastModified();
+        long checksum;
+        try {
+            checksum = LangBundle.checksum(file.toPath());
+        } catch (IOException e) {
+            handleException(e);
+            throw new RuntimeException(e);
+        }
+        var raw = parseFile(file, reader -> MessageRegistry.raw(locale, reader));
+        try {
+            LangBundle.write(bundle, length, modified, checksum, raw);
+        } catch (IOException e) {
+            handleException(e, "Unable to write lang bundle: " + bundle.getPath());
+        }
+        return registry.compile(raw);
+    }
+
+    /**
+     * Loaded lang file
+     * @param file target file
+     * @param locale locale or null if failed
+     * @param templates compiled templates or null if failed
+     * @param time load time (ms)
+     */
+    record LangFile(@NotNull File file, @Nullable Locale locale, @Nullable Map<String, MessageTemplate> templates, long time) {}
+
     /**
      * Print exception to logger
      * @param exception target exception
      * @param message additional message
      */
-    private void handleException(@NotNull Exception exception, @NotNull String message) {
+    void handleException(@NotNull Exception exception, @NotNull String message) {
         try (var stringWriter = new StringWriter(); var printWriter = new PrintWriter(stringWriter)) {
             exception.printStackTrace(printWriter);
             logger.warn(
@@ -293,56 +590,140 @@ public final class BetterCommand {
      * @return message sender
      */
     public @NotNull MessageSender registerKey(@NotNull CommandMessage message) {
-        return (l, s, m) -> {
-            var msg = component(s, message);
-            if (serializer.serialize(msg).isEmpty()) return;
-            s.audience().sendMessage(Component.text()
-                    .append(component(s, switch (l) {
-                        case INFO -> prefix.info();
-                        case WARN -> prefix.warn();
-                        case ERROR -> prefix.error();
-                    }))
-                    .append(msg.replaceText(TextReplacementConfig.builder()
-                            .match(VALUE_PATTERN)
-                            .replacement((r, b) -> {
-                                var group = r.group(1);
-                                var get = m.get(group);
-                                return get != null ? get : Component.text(group);
-                            })
-                            .build())));
+        return registerKey(message, new String[0]);
+    }
+
+    /**
+     * Creates message sender depend on message
+     * @param message target message
+     * @param placeholders placeholder names of positional parameters
+     * @return message sender
+     */
+    public @NotNull MessageSender registerKey(@NotNull CommandMessage message, @NotNull String... placeholders) {
+        Objects.requireNonNull(message, "message");
+        Objects.requireNonNull(placeholders, "placeholders");
+        var names = placeholders.clone();
+        return new MessageSender() {
+            @Override
+            public void send(@NotNull SendLevel level, @NotNull BetterCommandSource source, @NotNull Map<String, Component> value) {
+                sendTemplate(level, source, message, name -> {
+                    var get = value.get(name);
+                    return get != null ? get : Component.text(name);
+                });
+            }
+
+            @Override
+            public @NotNull String[] placeholders() {
+                return names.clone();
+            }
+
+            @Override
+            public void send(@NotNull SendLevel level, @NotNull BetterCommandSource source, @NotNull Component... values) {
+                if (values.length > names.length) throw new IllegalArgumentException("Expected at most " + names.length + " values but " + values.length + " given.");
+                sendTemplate(level, source, message, name -> {
+                    for (int i = 0; i < values.length; i++) {
+                        if (names[i].equals(name)) return values[i];
+                    }
+                    return Component.text(name);
+                });
+            }
         };
     }
 
     /**
-     * Parse file to json object
+     * Sends compiled message to source
+     * @param level logger level
+     * @param source target source
+     * @param message target message
+     * @param resolver placeholder resolver
+     */
+    private void sendTemplate(@NotNull MessageSender.SendLevel level, @NotNull BetterCommandSource source, @NotNull CommandMessage message, @NotNull MessageTemplate.Resolver resolver) {
+        var template = registry.template(source, message);
+        if (template.isEmpty()) return;
+        var output = outputs.get(source);
+        (output != null ? output : source.audience()).sendMessage(Component.text()
+                .append(component(source, switch (level) {
+                    case INFO -> prefix.info();
+                    case WARN -> prefix.warn();
+                    case ERROR -> prefix.error();
+                }))
+                .append(template.render(resolver)));
+    }
+
+    /**
+     * Parse file by streaming json reader
      * @param file target file
-     * @return json object
+     * @param function reader of json object
+     * @return read value
+     * @param <T> type of value
      * @throws NotJsonObjectException if it is not a json object.
      */
-    private JsonObject parseFile(@NotNull File file) {
+    @SuppressWarnings("deprecation")
+    private <T> T parseFile(@NotNull File file, @NotNull JsonFunction<T> function) {
         try (var reader = new FileReader(file); var buffered = new BufferedReader(reader); var json = new JsonReader(buffered)) {
-            var result = JsonParser.parseReader(json);
-            if (result.isJsonObject()) return result.getAsJsonObject();
-            else throw new NotJsonObjectException("This file is not a json object: " + file.getPath());
+            //setStrictness is unavailable in Gson 2.10 shipped by older platforms.
+            json.setLenient(true);
+            JsonToken token;
+            try {
+                token = json.peek();
+            } catch (EOFException empty) {
+                token = JsonToken.END_DOCUMENT;
+            }
+            if (token != JsonToken.BEGIN_OBJECT) throw new NotJsonObjectException("This file is not a json object: " + file.getPath());
+            return function.apply(json);
+        } catch (MalformedJsonException exception) {
+            throw new JsonSyntaxException(exception);
         } catch (IOException exception) {
             handleException(exception);
             throw new RuntimeException(exception);
         }
     }
 
+    /**
+     * A function which reads json
+     * @param <T> type of value
+     */
+    @FunctionalInterface
+    private interface JsonFunction<T> {
+        /**
+         * Reads json
+         * @param reader json reader positioned at json object
+         * @return read value
+         * @throws IOException if unable to read
+         */
+        T apply(@NotNull JsonReader reader) throws IOException;
+    }
+
     /**
      * File name
      * @param name name without extension
      * @param extension extension
      */
-    private record FileName(@NotNull String name, @Nullable String extension) {
-        private static @NotNull FileName parse(@NotNull File file) {
+    record FileName(@NotNull String name, @Nullable String extension) {
+        static @NotNull FileName parse(@NotNull File file) {
             var name = file.getName().split("\\.");
             return new FileName(
                     name[0],
                     name.length > 1 ? name[1] : null
             );
         }
+
+        /**
+         * Checks whether this file is a json
+         * @return whether json
+         */
+        boolean isJson() {
+            return extension != null && extension.equals("json");
+        }
+
+        /**
+         * Gets locale of this file name
+         * @return locale
+         */
+        @NotNull Locale locale() {
+            var localeSplit = name.split("_");
+            return localeSplit.length == 1 ? new Locale(localeSplit[0]) : new Locale(localeSplit[0].toLowerCase(), localeSplit[1].toUpperCase());
+        }
     }
 
     /**
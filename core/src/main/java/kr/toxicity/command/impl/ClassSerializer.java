@@ -1,5 +1,6 @@
 package kr.toxicity.command.impl;
 
+import com.mojang.brigadier.arguments.ArgumentType;
 import kr.toxicity.command.BetterCommandSource;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
@@ -9,8 +10,12 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
@@ -36,6 +41,15 @@ public abstract class ClassSerializer<T> {
         optional = new CommandMessage("internal.type." + name() + ".optional", Component.text("[" + name() + "]").color(NamedTextColor.DARK_AQUA));
     }
 
+    /**
+     * initializer reuses serializer message of delegate.
+     * @param delegate original serializer
+     */
+    private ClassSerializer(@NotNull ClassSerializer<?> delegate) {
+        required = delegate.required;
+        optional = delegate.optional;
+    }
+
     /**
      * Gets optional argument message
      * @return argument message
@@ -65,6 +79,45 @@ public abstract class ClassSerializer<T> {
      */
     public abstract @NotNull @Unmodifiable List<String> suggests(@NotNull BetterCommandSource source);
 
+    /**
+     * Suggests a proper string starting with typed prefix, ignoring case.
+     * Override this with a {@link SuggestionIndex} if there are many candidates.
+     * @param source command source
+     * @param prefix typed prefix
+     * @param limit max size of result
+     * @return list of string
+     */
+    public @NotNull @Unmodifiable List<String> suggests(@NotNull BetterCommandSource source, @NotNull String prefix, int limit) {
+        var list = new ArrayList<String>();
+        for (String suggest : suggests(source)) {
+            if (list.size() >= limit) break;
+            if (suggest.regionMatches(true, 0, prefix, 0, prefix.length())) list.add(suggest);
+        }
+        return Collections.unmodifiableList(list);
+    }
+
+    /**
+     * Gets whether suggestion of this serializer should run off the thread handling tab-complete
+     * @return whether asynchronous
+     */
+    public boolean asyncSuggests() {
+        return false;
+    }
+
+    /**
+     * Suggests a proper string asynchronously.
+     * This is called only if {@link #asyncSuggests()} is true.
+     * Override this if a lookup already returns a future.
+     * @param source command source
+     * @param prefix typed prefix
+     * @param limit max size of result
+     * @param executor suggestion executor
+     * @return future of list of string
+     */
+    public @NotNull CompletableFuture<List<String>> suggestsAsync(@NotNull BetterCommandSource source, @NotNull String prefix, int limit, @NotNull Executor executor) {
+        return CompletableFuture.supplyAsync(() -> suggests(source, prefix, limit), executor);
+    }
+
     /**
      * Deserialize string to target instance
      * @param source command source
@@ -73,6 +126,17 @@ public abstract class ClassSerializer<T> {
      */
     public abstract @Nullable T deserialize(@NotNull BetterCommandSource source, @NotNull String raw);
 
+    /**
+     * Parses string to target instance.
+     * Override this to report a failure without throwing.
+     * @param source command source
+     * @param raw raw string
+     * @return parse result
+     */
+    public @NotNull ParseResult<T> parse(@NotNull BetterCommandSource source, @NotNull String raw) {
+        return ParseResult.of(deserialize(source, raw));
+    }
+
     /**
      * Gets null argument message
      * @return argument message
@@ -81,6 +145,78 @@ public abstract class ClassSerializer<T> {
         return DEFAULT;
     }
 
+    /**
+     * Gets native brigadier argument type.
+     * If exists, an argument is parsed by this type instead of string, so invalid input fails while parsing.
+     * It is not used for @CanBeNull or @Vararg parameter.
+     * @return argument type or null if this serializer reads string
+     */
+    public @Nullable ArgumentType<T> argumentType() {
+        return null;
+    }
+
+    /**
+     * Creates a serializer which caches suggestions of this serializer.
+     * If asynchronous, a cache miss fetches all suggestions by {@link #suggestsAsync(BetterCommandSource, String, int, Executor)} with an empty prefix.
+     * @param cache suggestion cache
+     * @return cached serializer
+     * @see SuggestionCache
+     */
+    public @NotNull ClassSerializer<T> cached(@NotNull SuggestionCache cache) {
+        Objects.requireNonNull(cache, "cache");
+        var delegate = this;
+        return new ClassSerializer<>(this) {
+            @Override
+            public @NotNull String name() {
+                return delegate.name();
+            }
+
+            @Override
+            public @NotNull List<String> suggests(@NotNull BetterCommandSource source) {
+                return cache.get(delegate, source, () -> delegate.suggests(source)).values();
+            }
+
+            @Override
+            public @NotNull List<String> suggests(@NotNull BetterCommandSource source, @NotNull String prefix, int limit) {
+                return cache.get(delegate, source, () -> delegate.suggests(source)).index().find(prefix, limit);
+            }
+
+            @Override
+            public @Nullable T deserialize(@NotNull BetterCommandSource source, @NotNull String raw) {
+                return delegate.deserialize(source, raw);
+            }
+
+            @Override
+            public @NotNull ParseResult<T> parse(@NotNull BetterCommandSource source, @NotNull String raw) {
+                return delegate.parse(source, raw);
+            }
+
+            @Override
+            public @NotNull CommandMessage nullMessage() {
+                return delegate.nullMessage();
+            }
+
+            @Override
+            public @Nullable ArgumentType<T> argumentType() {
+                return delegate.argumentType();
+            }
+
+            @Override
+            public boolean asyncSuggests() {
+                return delegate.asyncSuggests();
+            }
+
+            @Override
+            public @NotNull CompletableFuture<List<String>> suggestsAsync(@NotNull BetterCommandSource source, @NotNull String prefix, int limit, @NotNull Executor executor) {
+                var get = cache.getIfPresent(delegate, source);
+                if (get != null) return CompletableFuture.completedFuture(get.index().find(prefix, limit));
+                //An empty prefix without limit fetches all suggestions of delegate to cache them.
+                return delegate.suggestsAsync(source, "", Integer.MAX_VALUE, executor)
+                        .thenApply(list -> cache.put(delegate, source, list).index().find(prefix, limit));
+            }
+        };
+    }
+
     /**
      * Creates builder class of ClassSerializer
      * @param function deserializer
@@ -88,7 +224,18 @@ public abstract class ClassSerializer<T> {
      * @param <R> target class type
      */
     public static <R> @NotNull Builder<R> builder(@NotNull BiFunction<BetterCommandSource, String, R> function) {
-        return new Builder<>(function);
+        Objects.requireNonNull(function, "function");
+        return new Builder<>((source, raw) -> ParseResult.of(function.apply(source, raw)));
+    }
+
+    /**
+     * Creates builder class of ClassSerializer by result-typed parser
+     * @param parser parser
+     * @return builder
+     * @param <R> target class type
+     */
+    public static <R> @NotNull Builder<R> parser(@NotNull BiFunction<BetterCommandSource, String, ParseResult<R>> parser) {
+        return new Builder<>(Objects.requireNonNull(parser, "parser"));
     }
 
     /**
@@ -97,11 +244,14 @@ public abstract class ClassSerializer<T> {
      */
     @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
     public static final class Builder<R> {
-        private final BiFunction<BetterCommandSource, String, R> function;
+        private final BiFunction<BetterCommandSource, String, ParseResult<R>> parser;
 
         private String name;
         private Function<BetterCommandSource, List<String>> suggests;
+        private Function<BetterCommandSource, SuggestionIndex> index;
         private CommandMessage nullMessage;
+        private ArgumentType<R> argumentType;
+        private boolean asyncSuggests;
 
         /**
          * Sets name
@@ -123,6 +273,29 @@ public abstract class ClassSerializer<T> {
             return this;
         }
 
+        /**
+         * Sets indexed suggestion.
+         * If suggests is not set, all values of index are used as suggests.
+         * @param index mapper
+         * @return self
+         * @see SuggestionIndex
+         */
+        public @NotNull Builder<R> index(@NotNull Function<BetterCommandSource, SuggestionIndex> index) {
+            this.index = Objects.requireNonNull(index, "index");
+            return this;
+        }
+
+        /**
+         * Sets whether suggestion should run off the thread handling tab-complete
+         * @param asyncSuggests whether asynchronous
+         * @return self
+         * @see ClassSerializer#asyncSuggests()
+         */
+        public @NotNull Builder<R> asyncSuggests(boolean asyncSuggests) {
+            this.asyncSuggests = asyncSuggests;
+            return this;
+        }
+
         /**
          * Sets null message
          * @param nullMessage null argument message
@@ -133,14 +306,25 @@ public abstract class ClassSerializer<T> {
             return this;
         }
 
+        /**
+         * Sets native brigadier argument type
+         * @param argumentType argument type which returns target class
+         * @return self
+         * @see ClassSerializer#argumentType()
+         */
+        public @NotNull Builder<R> argumentType(@Nullable ArgumentType<R> argumentType) {
+            this.argumentType = argumentType;
+            return this;
+        }
+
         /**
          * Build ClassSerializer
          * @return ClassSerializer
-         * @throws NullPointerException if name or suggests not set.
+         * @throws NullPointerException if name or both suggests and index not set.
          */
         public @NotNull ClassSerializer<R> build() {
             Objects.requireNonNull(name, "name");
-            Objects.requireNonNull(suggests, "suggests");
+            if (index == null) Objects.requireNonNull(suggests, "suggests");
             return new ClassSerializer<>() {
                 @Override
                 public @NotNull String name() {
@@ -149,12 +333,24 @@ public abstract class ClassSerializer<T> {
 
                 @Override
                 public @NotNull List<String> suggests(@NotNull BetterCommandSource source) {
+                    if (suggests == null) return index.apply(source).values();
                     return suggests.apply(source);
                 }
 
+                @Override
+                public @NotNull List<String> suggests(@NotNull BetterCommandSource source, @NotNull String prefix, int limit) {
+                    if (index == null) return super.suggests(source, prefix, limit);
+                    return index.apply(source).find(prefix, limit);
+                }
+
                 @Override
                 public @Nullable R deserialize(@NotNull BetterCommandSource source, @NotNull String raw) {
-                    return function.apply(source, raw);
+                    return parse(source, raw).value();
+                }
+
+                @Override
+                public @NotNull ParseResult<R> parse(@NotNull BetterCommandSource source, @NotNull String raw) {
+                    return parser.apply(source, raw);
                 }
 
                 @Override
@@ -162,6 +358,16 @@ public abstract class ClassSerializer<T> {
                     if (nullMessage != null) return nullMessage;
                     return super.nullMessage();
                 }
+
+                @Override
+                public boolean asyncSuggests() {
+                    return asyncSuggests;
+                }
+
+                @Override
+                public @Nullable ArgumentType<R> argumentType() {
+                    return argumentType;
+                }
             };
         }
     }
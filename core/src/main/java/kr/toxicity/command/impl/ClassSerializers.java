@@ -1,9 +1,14 @@
 package kr.toxicity.command.impl;
 
+import com.mojang.brigadier.arguments.*;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
-import java.util.function.Supplier;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.LongFunction;
 
 /**
  * Builtin class serializers
@@ -13,53 +18,233 @@ final class ClassSerializers {
         throw new RuntimeException();
     }
 
-    private static <T> T getExceptional(@NotNull Supplier<T> getter) {
-        try {
-            return getter.get();
-        } catch (Exception e) {
-            return null;
-        }
-    }
+    private static final int CACHE_LOW = -128;
+    private static final int CACHE_HIGH = 127;
+
+    /**
+     * Number out of range message
+     */
+    static final CommandMessage OUT_OF_RANGE = new CommandMessage("internal.null.out_of_range", Component.text("[value] is out of range.").color(NamedTextColor.RED));
+
+    private static final ParseResult<?> OUT_OF_RANGE_RESULT = ParseResult.failure(OUT_OF_RANGE);
+
+    private static final ParseResult<Integer>[] INTEGER_CACHE = cache(i -> i);
+    private static final ParseResult<Long>[] LONG_CACHE = cache(i -> (long) i);
+    private static final ParseResult<Short>[] SHORT_CACHE = cache(i -> (short) i);
+    private static final ParseResult<Byte>[] BYTE_CACHE = cache(i -> (byte) i);
+    private static final ParseResult<Character>[] CHARACTER_CACHE = cache(i -> (char) (i - CACHE_LOW));
+    private static final ParseResult<Boolean> TRUE = ParseResult.success(true);
+    private static final ParseResult<Boolean> FALSE = ParseResult.success(false);
 
     static final ClassSerializer<String> STRING = ClassSerializer.builder((source, raw) -> raw.equals("null") ? null : raw)
             .name("string")
             .suggests(source -> List.of("string"))
             .build();
 
-    static final ClassSerializer<Integer> INTEGER = ClassSerializer.builder((source, raw) -> raw.equals("null") ? null : getExceptional(() -> Integer.parseInt(raw)))
+    static final ClassSerializer<Integer> INTEGER = ClassSerializer.parser((source, raw) -> parseIntegral(raw, Integer.MIN_VALUE, Integer.MAX_VALUE, ClassSerializers::ofInt))
             .name("integer")
+            .argumentType(IntegerArgumentType.integer())
             .suggests(source -> List.of("0", "1", "2"))
             .build();
-    static final ClassSerializer<Double> DOUBLE = ClassSerializer.builder((source, raw) -> raw.equals("null") ? null : getExceptional(() -> Double.parseDouble(raw)))
+    static final ClassSerializer<Double> DOUBLE = ClassSerializer.parser((source, raw) -> parseDecimal(raw, Double::parseDouble))
             .name("double")
+            .argumentType(DoubleArgumentType.doubleArg())
             .suggests(source -> List.of("0.0", "1.0", "2.0"))
             .build();
-    static final ClassSerializer<Float> FLOAT = ClassSerializer.builder((source, raw) -> raw.equals("null") ? null : getExceptional(() -> Float.parseFloat(raw)))
+    static final ClassSerializer<Float> FLOAT = ClassSerializer.parser((source, raw) -> parseDecimal(raw, Float::parseFloat))
             .name("float")
+            .argumentType(FloatArgumentType.floatArg())
             .suggests(source -> List.of("0.0", "1.0", "2.0"))
             .build();
-    static final ClassSerializer<Long> LONG = ClassSerializer.builder((source, raw) -> raw.equals("null") ? null : getExceptional(() -> Long.parseLong(raw)))
+    static final ClassSerializer<Long> LONG = ClassSerializer.parser((source, raw) -> parseIntegral(raw, Long.MIN_VALUE, Long.MAX_VALUE, ClassSerializers::ofLong))
             .name("long")
+            .argumentType(LongArgumentType.longArg())
             .suggests(source -> List.of("0", "1", "2"))
             .build();
-    static final ClassSerializer<Short> SHORT = ClassSerializer.builder((source, raw) -> raw.equals("null") ? null : getExceptional(() -> Short.parseShort(raw)))
+    static final ClassSerializer<Short> SHORT = ClassSerializer.parser((source, raw) -> parseIntegral(raw, Short.MIN_VALUE, Short.MAX_VALUE, ClassSerializers::ofShort))
             .name("short")
             .suggests(source -> List.of("0", "1", "2"))
             .build();
-    static final ClassSerializer<Byte> BYTE = ClassSerializer.builder((source, raw) -> raw.equals("null") ? null : getExceptional(() -> Byte.parseByte(raw)))
+    static final ClassSerializer<Byte> BYTE = ClassSerializer.parser((source, raw) -> parseIntegral(raw, Byte.MIN_VALUE, Byte.MAX_VALUE, ClassSerializers::ofByte))
             .name("byte")
             .suggests(source -> List.of("0", "1", "2"))
             .build();
-    static final ClassSerializer<Character> CHARACTER = ClassSerializer.builder((source, raw) -> raw.length() != 1 ? null : raw.toCharArray()[0])
+    static final ClassSerializer<Character> CHARACTER = ClassSerializer.parser((source, raw) -> raw.length() != 1 ? ParseResult.<Character>failure() : ofChar(raw.charAt(0)))
             .name("character")
             .suggests(source -> List.of("A", "B", "C"))
             .build();
-    static final ClassSerializer<Boolean> BOOLEAN = ClassSerializer.builder((source, raw) -> switch (raw.toLowerCase()) {
-                case "true" -> true;
-                case "false" -> false;
-                default -> null;
+    static final ClassSerializer<Boolean> BOOLEAN = ClassSerializer.parser((source, raw) -> {
+                if (raw.equalsIgnoreCase("true")) return TRUE;
+                if (raw.equalsIgnoreCase("false")) return FALSE;
+                return ParseResult.<Boolean>failure();
             })
             .name("boolean")
+            .argumentType(BoolArgumentType.bool())
             .suggests(source -> List.of("true", "false"))
             .build();
+
+    /**
+     * Creates success results of small values
+     * @param mapper int to value
+     * @return cached results
+     * @param <T> type of value
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> @NotNull ParseResult<T>[] cache(@NotNull IntFunction<T> mapper) {
+        var array = (ParseResult<T>[]) new ParseResult<?>[CACHE_HIGH - CACHE_LOW + 1];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = ParseResult.success(mapper.apply(i + CACHE_LOW));
+        }
+        return array;
+    }
+
+    private static @NotNull ParseResult<Integer> ofInt(long value) {
+        return value >= CACHE_LOW && value <= CACHE_HIGH ? INTEGER_CACHE[(int) value - CACHE_LOW] : ParseResult.success((int) value);
+    }
+
+    private static @NotNull ParseResult<Long> ofLong(long value) {
+        return value >= CACHE_LOW && value <= CACHE_HIGH ? LONG_CACHE[(int) value - CACHE_LOW] : ParseResult.success(value);
+    }
+
+    private static @NotNull ParseResult<Short> ofShort(long value) {
+        return value >= CACHE_LOW && value <= CACHE_HIGH ? SHORT_CACHE[(int) value - CACHE_LOW] : ParseResult.success((short) value);
+    }
+
+    private static @NotNull ParseResult<Byte> ofByte(long value) {
+        return BYTE_CACHE[(int) value - CACHE_LOW];
+    }
+
+    private static @NotNull ParseResult<Character> ofChar(char value) {
+        return value <= CACHE_HIGH - CACHE_LOW ? CHARACTER_CACHE[value] : ParseResult.success(value);
+    }
+
+    /**
+     * Gets failure result of raw string
+     * @param raw raw string
+     * @return null result if raw is "null", otherwise failure
+     * @param <T> type of value
+     */
+    private static <T> @NotNull ParseResult<T> failure(@NotNull String raw) {
+        return raw.equals("null") ? ParseResult.success(null) : ParseResult.failure();
+    }
+
+    /**
+     * Parses decimal integer without throwing.
+     * It accepts the same strings as Long.parseLong, and a value out of range is reported as out of range.
+     * @param raw raw string
+     * @param min min value
+     * @param max max value
+     * @param mapper long to result
+     * @return parse result
+     * @param <T> type of value
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> @NotNull ParseResult<T> parseIntegral(@NotNull String raw, long min, long max, @NotNull LongFunction<ParseResult<T>> mapper) {
+        var length = raw.length();
+        if (length == 0) return ParseResult.failure();
+        var i = 0;
+        var negative = false;
+        var first = raw.charAt(0);
+        if (first == '-' || first == '+') {
+            if (length == 1) return ParseResult.failure();
+            negative = first == '-';
+            i = 1;
+        }
+        //Accumulates negatively to cover min value.
+        var limit = negative ? min : -max;
+        var multiplyLimit = limit / 10;
+        var result = 0L;
+        var overflow = false;
+        for (; i < length; i++) {
+            var digit = Character.digit(raw.charAt(i), 10);
+            if (digit < 0) return failure(raw);
+            if (overflow) continue;
+            if (result < multiplyLimit) {
+                overflow = true;
+                continue;
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                overflow = true;
+                continue;
+            }
+            result -= digit;
+        }
+        if (overflow) return (ParseResult<T>) OUT_OF_RANGE_RESULT;
+        return mapper.apply(negative ? result : -result);
+    }
+
+    /**
+     * Parses floating-point number.
+     * A decimal string is checked without throwing, and only hexadecimal or whitespace-padded strings are left to the JDK parser,
+     * so every string accepted by Double.parseDouble is still accepted.
+     * @param raw raw string
+     * @param parser JDK parser
+     * @return parse result
+     * @param <T> type of value
+     */
+    private static <T> @NotNull ParseResult<T> parseDecimal(@NotNull String raw, @NotNull Function<String, T> parser) {
+        if (isDecimal(raw)) return ParseResult.success(parser.apply(raw));
+        if (!isHexOrPadded(raw)) return failure(raw);
+        try {
+            return ParseResult.success(parser.apply(raw));
+        } catch (NumberFormatException e) {
+            return failure(raw);
+        }
+    }
+
+    /**
+     * Checks whether raw string may be a hexadecimal or whitespace-padded floating-point number
+     * @param raw raw string
+     * @return whether to be parsed by JDK parser
+     */
+    private static boolean isHexOrPadded(@NotNull String raw) {
+        var length = raw.length();
+        if (length == 0) return false;
+        if (raw.charAt(0) <= ' ' || raw.charAt(length - 1) <= ' ') return true;
+        var i = raw.charAt(0) == '-' || raw.charAt(0) == '+' ? 1 : 0;
+        return raw.startsWith("0x", i) || raw.startsWith("0X", i);
+    }
+
+    /**
+     * Checks whether raw string is a decimal floating-point number
+     * @param raw raw string
+     * @return whether decimal
+     */
+    private static boolean isDecimal(@NotNull String raw) {
+        var length = raw.length();
+        var i = 0;
+        if (i < length && (raw.charAt(i) == '-' || raw.charAt(i) == '+')) i++;
+        if (raw.startsWith("Infinity", i)) return i + 8 == length;
+        if (raw.startsWith("NaN", i)) return i + 3 == length;
+        var digits = 0;
+        while (i < length && isDigit(raw.charAt(i))) {
+            i++;
+            digits++;
+        }
+        if (i < length && raw.charAt(i) == '.') {
+            i++;
+            while (i < length && isDigit(raw.charAt(i))) {
+                i++;
+                digits++;
+            }
+        }
+        if (digits == 0) return false;
+        if (i < length && (raw.charAt(i) == 'e' || raw.charAt(i) == 'E')) {
+            i++;
+            if (i < length && (raw.charAt(i) == '-' || raw.charAt(i) == '+')) i++;
+            var exponent = 0;
+            while (i < length && isDigit(raw.charAt(i))) {
+                i++;
+                exponent++;
+            }
+            if (exponent == 0) return false;
+        }
+        if (i < length && "dDfF".indexOf(raw.charAt(i)) >= 0) i++;
+        return i == length;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
 }
@@ -0,0 +1,91 @@
+package kr.toxicity.command.impl;
+
+import kr.toxicity.command.BetterCommandSource;
+import kr.toxicity.command.CommandInterceptor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An invocation of command method passed to interceptors
+ * @see CommandInterceptor
+ */
+public final class CommandInvocation {
+
+    private final String path;
+    private final BetterCommandSource source;
+    private final Object[] arguments;
+    private final CommandInterceptor[] chain;
+    private final MethodExecutor.Invoker invoker;
+    private int index;
+
+    /**
+     * Creates invocation
+     * @param path command path
+     * @param source command source or null
+     * @param arguments parsed arguments
+     * @param chain compiled interceptors
+     * @param invoker command method
+     */
+    CommandInvocation(@NotNull String path, @Nullable BetterCommandSource source, @NotNull Object[] arguments, @NotNull CommandInterceptor[] chain, @NotNull MethodExecutor.Invoker invoker) {
+        this.path = path;
+        this.source = source;
+        this.arguments = arguments;
+        this.chain = chain;
+        this.invoker = invoker;
+    }
+
+    /**
+     * Gets command path in help command (e.g. "mycommand child die")
+     * @return path
+     */
+    public @NotNull String path() {
+        return path;
+    }
+
+    /**
+     * Gets command source
+     * @return source or null if platform-side source is not mapped
+     */
+    public @Nullable BetterCommandSource source() {
+        return source;
+    }
+
+    /**
+     * Gets the number of parameters of command method
+     * @return count
+     */
+    public int argumentCount() {
+        return arguments.length;
+    }
+
+    /**
+     * Gets parsed argument in order of parameters, including @Source parameter
+     * @param index parameter index
+     * @return argument or null if optional argument is not given
+     */
+    public @Nullable Object argument(int index) {
+        return arguments[index];
+    }
+
+    /**
+     * Calls the next interceptor or command method
+     * @return returned value of command method, or null if canceled by interceptor
+     * @throws Throwable if command method throws an exception
+     */
+    public @Nullable Object proceed() throws Throwable {
+        if (index >= chain.length) return invoker.invoke(arguments);
+        var interceptor = chain[index++];
+        if (!interceptor.before(this)) return null;
+        Object result = null;
+        Throwable throwable = null;
+        try {
+            result = interceptor.around(this);
+            return result;
+        } catch (Throwable e) {
+            throwable = e;
+            throw e;
+        } finally {
+            interceptor.after(this, result, throwable);
+        }
+    }
+}
@@ -5,19 +5,20 @@ import net.kyori.adventure.text.Component;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Unmodifiable;
 
-import java.util.Collections;
-import java.util.Objects;
-import java.util.Set;
-import java.util.TreeSet;
+import java.util.*;
 
 /**
- * Component with translatable key
- * @param key translatable key
- * @param defaultMessage default component if lang file is not found
+ * Component with translatable key.
+ * Each message has a dense id in generated order, so a lang can be stored as an array and looked up by a single array load.
  */
-public record CommandMessage(@NotNull String key, @NotNull Component defaultMessage) implements Comparable<CommandMessage> {
+public final class CommandMessage implements Comparable<CommandMessage> {
 
     private static final Set<CommandMessage> ALL_MESSAGES = new TreeSet<>();
+    private static final List<CommandMessage> INDEXED_MESSAGES = new ArrayList<>();
+
+    private final String key;
+    private final Component defaultMessage;
+    private final int id;
 
     /**
      * Creates instance.
@@ -31,7 +32,27 @@ public record CommandMessage(@NotNull String key, @NotNull Component defaultMess
         this.key = key;
         this.defaultMessage = defaultMessage;
 
-        if (!ALL_MESSAGES.add(this)) throw new KeyAlreadyExistException("This key is already generated: " + key);
+        synchronized (ALL_MESSAGES) {
+            if (!ALL_MESSAGES.add(this)) throw new KeyAlreadyExistException("This key is already generated: " + key);
+            id = INDEXED_MESSAGES.size();
+            INDEXED_MESSAGES.add(this);
+        }
+    }
+
+    /**
+     * Gets translatable key
+     * @return translatable key
+     */
+    public @NotNull String key() {
+        return key;
+    }
+
+    /**
+     * Gets default component if lang file is not found
+     * @return default component
+     */
+    public @NotNull Component defaultMessage() {
+        return defaultMessage;
     }
 
     /**
@@ -41,7 +62,27 @@ public record CommandMessage(@NotNull String key, @NotNull Component defaultMess
     @NotNull
     @Unmodifiable
     public static Set<CommandMessage> allMessages() {
-        return Collections.unmodifiableSet(ALL_MESSAGES);
+        synchronized (ALL_MESSAGES) {
+            return Collections.unmodifiableSet(new TreeSet<>(ALL_MESSAGES));
+        }
+    }
+
+    /**
+     * Gets all generated message ordered by id
+     * @return all message
+     */
+    static @NotNull @Unmodifiable List<CommandMessage> indexedMessages() {
+        synchronized (ALL_MESSAGES) {
+            return List.copyOf(INDEXED_MESSAGES);
+        }
+    }
+
+    /**
+     * Gets dense id of this message
+     * @return id
+     */
+    int id() {
+        return id;
     }
 
     @Override
@@ -61,4 +102,9 @@ public record CommandMessage(@NotNull String key, @NotNull Component defaultMess
     public int hashCode() {
         return Objects.hashCode(key);
     }
+
+    @Override
+    public String toString() {
+        return "CommandMessage[key=" + key + ", defaultMessage=" + defaultMessage + "]";
+    }
 }
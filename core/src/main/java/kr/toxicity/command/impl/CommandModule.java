@@ -3,11 +3,16 @@ package kr.toxicity.command.impl;
 import com.mojang.brigadier.arguments.IntegerArgumentType;
 import com.mojang.brigadier.builder.LiteralArgumentBuilder;
 import com.mojang.brigadier.builder.RequiredArgumentBuilder;
+import com.mojang.brigadier.tree.CommandNode;
 import kr.toxicity.command.BetterCommandSource;
 import kr.toxicity.command.CommandArgument;
+import kr.toxicity.command.CommandInterceptor;
 import kr.toxicity.command.CommandListener;
+import kr.toxicity.command.CommandMetrics;
 import kr.toxicity.command.SenderType;
 import kr.toxicity.command.impl.annotation.Command;
+import kr.toxicity.command.impl.descriptor.CommandDescriptor;
+import kr.toxicity.command.impl.descriptor.MethodDescriptor;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import net.kyori.adventure.text.Component;
@@ -20,6 +25,7 @@ import org.jetbrains.annotations.Unmodifiable;
 
 import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -73,6 +79,11 @@ public final class CommandModule<W extends BetterCommandSource> implements Comma
      */
     public static final CommandMessage CLICK_MESSAGE = new CommandMessage("internal.click_message", Component.text("Click to suggest command."));
 
+    /**
+     * Rate limited message
+     */
+    public static final CommandMessage RATE_LIMITED = new CommandMessage("internal.rate_limited", Component.text("You can use this command again in [time] seconds.").color(NamedTextColor.RED));
+
     /**
      * Unknown description message
      */
@@ -88,7 +99,14 @@ public final class CommandModule<W extends BetterCommandSource> implements Comma
     private MessageFunction<W> description;
     private SenderType[] type = SenderType.values();
 
+    private CommandModule<?> parent;
+
     private final List<CommandArgument<W>> arguments = new ArrayList<>();
+    private final List<CommandInterceptor> interceptors = new ArrayList<>();
+    private static final int MAX_HELP_PAGES = 256;
+
+    private final Map<HelpKey, HelpPage> helpCache = new ConcurrentHashMap<>();
+    private final Map<Locale, RenderedUsage> usageCache = new ConcurrentHashMap<>();
 
     @Override
     public @NotNull String name() {
@@ -107,6 +125,7 @@ public final class CommandModule<W extends BetterCommandSource> implements Comma
      */
     public @NotNull CommandModule<W> aliases(@Nullable String[] aliases) {
         this.aliases = aliases;
+        root.invalidateHelp();
         return this;
     }
 
@@ -144,6 +163,7 @@ public final class CommandModule<W extends BetterCommandSource> implements Comma
      */
     public @NotNull CommandModule<W> description(@Nullable MessageFunction<W> description) {
         this.description = description;
+        root.invalidateHelp();
         return this;
     }
 
@@ -159,6 +179,7 @@ public final class CommandModule<W extends BetterCommandSource> implements Comma
      */
     public @NotNull CommandModule<W> permission(@Nullable String permission) {
         this.permission = permission;
+        root.invalidateHelp();
         return this;
     }
 
@@ -196,12 +217,44 @@ public final class CommandModule<W extends BetterCommandSource> implements Comma
         Objects.requireNonNull(name, "name");
         Objects.requireNonNull(consumer, "consumer");
         var child = root.<W>module(name);
+        child.parent = this;
         child.helpName(helpName() + " " + name);
         consumer.accept(child);
         arguments.add(child);
+        root.invalidateHelp();
         return this;
     }
 
+    /**
+     * Adds interceptor of command methods in this module and its children.
+     * It runs after interceptors of main class and parent modules, and is applied when this module is built.
+     * @param interceptor interceptor
+     * @return self
+     */
+    public @NotNull CommandModule<W> interceptor(@NotNull CommandInterceptor interceptor) {
+        interceptors.add(Objects.requireNonNull(interceptor, "interceptor"));
+        return this;
+    }
+
+    /**
+     * Compiles interceptors of main class, parent modules and this module in order
+     * @return interceptors
+     */
+    @NotNull CommandInterceptor[] interceptors() {
+        var list = new ArrayList<>(root.interceptors());
+        collectInterceptors(list);
+        return list.toArray(CommandInterceptor[]::new);
+    }
+
+    /**
+     * Collects interceptors from the top module
+     * @param list target list
+     */
+    private void collectInterceptors(@NotNull List<CommandInterceptor> list) {
+        if (parent != null) parent.collectInterceptors(list);
+        list.addAll(interceptors);
+    }
+
     /**
      * Gets all applicable type
      * @return all type
@@ -237,11 +290,16 @@ public final class CommandModule<W extends BetterCommandSource> implements Comma
     public @NotNull CommandModule<W> helpName(@NotNull String helpName) {
         Objects.requireNonNull(helpName, "helpName");
         this.helpName = helpName;
+        root.invalidateHelp();
         return this;
     }
 
     @Override
     public @NotNull Component usage(@NotNull W w) {
+        var generation = root.helpGeneration();
+        var locale = w.locale();
+        var cached = usageCache.get(locale);
+        if (cached != null && cached.generation == generation) return cached.component;
         String args;
         var size = arguments.size();
         if (size <= 6) {
@@ -249,24 +307,42 @@ public final class CommandModule<W extends BetterCommandSource> implements Comma
         } else {
             args = arguments.subList(0, 6).stream().map(CommandArgument::name).collect(Collectors.joining("\n")) + "\n+" + (size - 6);
         }
-        return component(w, CHILDREN)
+        var component = component(w, CHILDREN)
                 .hoverEvent(HoverEvent.showText(Component.text(args)));
+        usageCache.put(locale, new RenderedUsage(generation, component));
+        return component;
     }
 
     /**
-     * Sets executor of command
+     * Sets executor of command.
+     * If a descriptor of this listener is generated by the annotation processor, it is used instead of reflection.
      * @param executor command executor
      * @return self
      */
     public @NotNull CommandModule<W> executes(@NotNull CommandListener executor) {
+        CommandDescriptor<CommandListener> descriptor = CommandDescriptor.find(executor.getClass());
+        if (descriptor != null) {
+            for (MethodDescriptor<CommandListener> method : descriptor.methods()) {
+                arguments.add(new MethodExecutor<>(
+                        root,
+                        this,
+                        executor,
+                        method
+                ));
+            }
+            root.invalidateHelp();
+            return this;
+        }
         for (Method method : executor.getClass().getMethods()) {
             if (method.getAnnotation(Command.class) == null) continue;
             arguments.add(new MethodExecutor<>(
                     root,
+                    this,
                     executor,
                     method
             ));
         }
+        root.invalidateHelp();
         return this;
     }
 
@@ -285,21 +361,55 @@ public final class CommandModule<W extends BetterCommandSource> implements Comma
      */
     private void showHelp(int page, W source) {
         if (source == null) return;
-        var info = component(source, root.prefix().info());
-
-        var audience = source.audience();
+        var metrics = root.metrics();
+        var start = metrics != CommandMetrics.NOOP ? System.nanoTime() : 0;
         var maxPage = maxPage();
         page = Math.max(Math.min(page, maxPage), 1);
-        audience.sendMessage(
+        var sub = arguments.subList((page - 1) * 6, Math.min(page * 6, arguments.size()));
+        var variants = new int[sub.size()];
+        for (int i = 0; i < variants.length; i++) {
+            variants[i] = sub.get(i).description().variant(source);
+        }
+        var generation = root.helpGeneration();
+        var key = new HelpKey(source.locale(), page, source.type(), Arrays.hashCode(variants));
+        var cached = helpCache.get(key);
+        if (cached == null || cached.generation != generation || !Arrays.equals(cached.variants, variants)) {
+            cached = renderHelp(generation, variants, page, maxPage, sub, source);
+            if (helpCache.size() < MAX_HELP_PAGES || helpCache.containsKey(key)) helpCache.put(key, cached);
+        }
+        var lines = new ArrayList<Component>(cached.header.size() + cached.entries.size() + cached.footer.size());
+        lines.addAll(cached.header);
+        for (int i = 0; i < cached.entries.size(); i++) {
+            lines.add(cached.entries.get(i).line(sub.get(i).usage(source)));
+        }
+        lines.addAll(cached.footer);
+        source.audience().sendMessage(OutputBuffer.join(lines));
+        if (metrics != CommandMetrics.NOOP) metrics.executed(helpName() + " help", System.nanoTime() - start);
+    }
+
+    /**
+     * Renders source-independent parts of help page
+     * @param generation help generation of main class
+     * @param variants index of matched descriptions
+     * @param page target page
+     * @param maxPage max page
+     * @param sub arguments in this page
+     * @param source command source
+     * @return rendered page
+     */
+    private @NotNull HelpPage renderHelp(long generation, int[] variants, int page, int maxPage, @NotNull List<CommandArgument<W>> sub, @NotNull W source) {
+        var info = component(source, root.prefix().info());
+        var header = List.of(
                 info.append(Component.text()
                         .content("----------< " + page + " / " + maxPage + " >----------")
-                        .color(NamedTextColor.GRAY))
+                        .color(NamedTextColor.GRAY)),
+                info,
+                Component.text().append(info).append(component(source, REQUIRED_ARGUMENT)).build(),
+                Component.text().append(info).append(component(source, OPTIONAL_ARGUMENT)).build(),
+                info
         );
-        audience.sendMessage(info);
-        audience.sendMessage(Component.text().append(info).append(component(source, REQUIRED_ARGUMENT)));
-        audience.sendMessage(Component.text().append(info).append(component(source, OPTIONAL_ARGUMENT)));
-        audience.sendMessage(info);
-        for (CommandArgument<W> args : arguments.subList((page - 1) * 6, Math.min(page * 6, arguments.size()))) {
+        var entries = new ArrayList<HelpEntry>(sub.size());
+        for (CommandArgument<W> args : sub) {
             var hover = Component.text();
             var commandName = "/" + helpName() + " " + args.name();
             var first = false;
@@ -319,30 +429,111 @@ public final class CommandModule<W extends BetterCommandSource> implements Comma
             }
             if (first) hover.append(Component.newline()).append(Component.newline());
             hover.append(component(source, CLICK_MESSAGE));
-            var builder = Component.text()
-                    .append(info)
-                    .append(Component.text()
-                            .content(commandName)
-                            .color(NamedTextColor.GOLD)
-                            .hoverEvent(HoverEvent.showText(hover))
-                    );
-            var usageComponent = args.usage(source);
-            if (usageComponent != null) {
-                builder.append(Component.space()).append(usageComponent);
-            }
-            audience.sendMessage(builder
-                    .append(Component.text(" - ").color(NamedTextColor.GRAY))
-                    .append(component(source, args.description().find(source)))
-                    .clickEvent(ClickEvent.suggestCommand(commandName)));
+            entries.add(new HelpEntry(
+                    Component.text()
+                            .append(info)
+                            .append(Component.text()
+                                    .content(commandName)
+                                    .color(NamedTextColor.GOLD)
+                                    .hoverEvent(HoverEvent.showText(hover))
+                            )
+                            .build(),
+                    Component.text()
+                            .append(Component.text(" - ").color(NamedTextColor.GRAY))
+                            .append(component(source, args.description().find(source)))
+                            .build(),
+                    commandName
+            ));
         }
-        audience.sendMessage(info);
-        audience.sendMessage(
+        var footer = List.of(
+                info,
                 info.append(Component.text()
                         .content("------------------------------")
                         .color(NamedTextColor.GRAY))
         );
+        return new HelpPage(generation, variants, header, Collections.unmodifiableList(entries), footer);
     }
 
+    /**
+     * Key of rendered help page
+     * @param locale locale of source
+     * @param page page
+     * @param type type of source
+     * @param variant hash of matched descriptions
+     */
+    private record HelpKey(@NotNull Locale locale, int page, @NotNull SenderType type, int variant) {}
+
+    /**
+     * Rendered help page without usage
+     * @param generation help generation of main class
+     * @param variants index of matched descriptions
+     * @param header header lines
+     * @param entries line of each argument
+     * @param footer footer lines
+     */
+    private record HelpPage(
+            long generation,
+            int[] variants,
+            @NotNull @Unmodifiable List<Component> header,
+            @NotNull @Unmodifiable List<HelpEntry> entries,
+            @NotNull @Unmodifiable List<Component> footer
+    ) {}
+
+    /**
+     * Rendered usage
+     * @param generation help generation of main class
+     * @param component usage component
+     */
+    private record RenderedUsage(long generation, @NotNull Component component) {}
+
+    /**
+     * Rendered line of argument.
+     * A usage is shared by sources having the same suggestions, so the last line is reused while its usage is the same instance.
+     */
+    private static final class HelpEntry {
+        private final Component head;
+        private final Component tail;
+        private final String commandName;
+        private volatile HelpLine last;
+
+        /**
+         * Creates entry
+         * @param head prefix and command name with hover
+         * @param tail description
+         * @param commandName command to suggest on click
+         */
+        private HelpEntry(@NotNull Component head, @NotNull Component tail, @NotNull String commandName) {
+            this.head = head;
+            this.tail = tail;
+            this.commandName = commandName;
+        }
+
+        /**
+         * Gets line with usage
+         * @param usage usage component or null if not exists
+         * @return line
+         */
+        private @NotNull Component line(@Nullable Component usage) {
+            var line = last;
+            if (line != null && line.usage == usage) return line.component;
+            var builder = Component.text().append(head);
+            if (usage != null) builder.append(Component.space()).append(usage);
+            var component = builder
+                    .append(tail)
+                    .clickEvent(ClickEvent.suggestCommand(commandName))
+                    .build();
+            last = new HelpLine(usage, component);
+            return component;
+        }
+    }
+
+    /**
+     * Rendered line with its usage
+     * @param usage usage component or null
+     * @param component line
+     */
+    private record HelpLine(@Nullable Component usage, @NotNull Component component) {}
+
     /**
      * Find a component by its message
      * @param source command source
@@ -354,46 +545,65 @@ public final class CommandModule<W extends BetterCommandSource> implements Comma
     }
 
     @Override
-    public @NotNull @Unmodifiable <S> List<LiteralArgumentBuilder<S>> build(@NotNull Function<S, W> mapper) {
+    public @NotNull @Unmodifiable <S> List<LiteralArgumentBuilder<S>> build(@NotNull Function<S, W> function) {
+        var mapper = SourceMapper.of(function);
         var aliases = aliases();
         var lists = new ArrayList<String>(1 + aliases.length);
         lists.add(name);
         lists.addAll(Arrays.asList(aliases));
         var set = EnumSet.copyOf(Arrays.asList(type));
+        var predicate = this.predicate;
+        var permission = this.permission;
+        var helpPermission = permission != null ? permission + ".help" : null;
+        var requirement = root.requirementCache.requirement(mapper, (W wrapper) -> {
+            if (!predicate.test(wrapper)) return false;
+            if (permission != null && !wrapper.hasPermission(permission)) return false;
+            return set.contains(wrapper.type());
+        });
+        var helpRequirement = root.requirementCache.requirement(mapper, (W wrapper) -> {
+            if (!predicate.test(wrapper)) return false;
+            if (helpPermission != null && !wrapper.hasPermission(helpPermission)) return false;
+            return set.contains(wrapper.type());
+        });
+        //Children are built once and shared by all aliases.
+        var children = new ArrayList<CommandNode<S>>();
+        children.add(LiteralArgumentBuilder.<S>literal("help")
+                .requires(helpRequirement).then(RequiredArgumentBuilder.<S, Integer>argument("page", IntegerArgumentType.integer(1, maxPage()))
+                        .executes(context -> {
+                            try {
+                                showHelp(context.getArgument("page", int.class), mapper.apply(context.getSource()));
+                            } finally {
+                                mapper.release();
+                            }
+                            return 0;
+                        }))
+                .executes(context -> {
+                    try {
+                        showHelp(1, mapper.apply(context.getSource()));
+                    } finally {
+                        mapper.release();
+                    }
+                    return 0;
+                })
+                .build());
+        for (CommandArgument<W> argument : arguments) {
+            for (LiteralArgumentBuilder<S> subBuilder : argument.build(mapper)) {
+                children.add(subBuilder.build());
+            }
+        }
         return lists.stream().map(s -> {
             var builder = LiteralArgumentBuilder.<S>literal(s)
-                    .requires(source -> {
-                        W wrapper = mapper.apply(source);
-                        if (wrapper == null) return true;
-                        if (!predicate.test(wrapper)) return false;
-                        if (permission != null && !wrapper.hasPermission(permission)) return false;
-                        return set.contains(wrapper.type());
-                    });
-            builder.then(LiteralArgumentBuilder.<S>literal("help")
-                            .requires(source -> {
-                                W wrapper = mapper.apply(source);
-                                if (wrapper == null) return true;
-                                if (!predicate.test(wrapper)) return false;
-                                if (permission != null && !wrapper.hasPermission(permission + ".help")) return false;
-                                return set.contains(wrapper.type());
-                            }).then(RequiredArgumentBuilder.<S, Integer>argument("page", IntegerArgumentType.integer(1, maxPage()))
-                                    .executes(context -> {
-                                        showHelp(context.getArgument("page", int.class), mapper.apply(context.getSource()));
-                                        return 0;
-                                    }))
-                            .executes(context -> {
-                                showHelp(1, mapper.apply(context.getSource()));
-                                return 0;
-                            })
-                    )
+                    .requires(requirement)
                     .executes(context -> {
-                        showHelp(0, mapper.apply(context.getSource()));
+                        try {
+                            showHelp(0, mapper.apply(context.getSource()));
+                        } finally {
+                            mapper.release();
+                        }
                         return 0;
                     });
-            for (CommandArgument<W> argument : arguments) {
-                for (LiteralArgumentBuilder<S> subBuilder : argument.build(mapper)) {
-                    builder.then(subBuilder);
-                }
+            for (CommandNode<S> child : children) {
+                builder.then(child);
             }
             return builder;
         }).toList();
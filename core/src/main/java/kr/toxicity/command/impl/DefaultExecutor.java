@@ -0,0 +1,36 @@
+package kr.toxicity.command.impl;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Lazy holder of default executor
+ */
+final class DefaultExecutor {
+    private DefaultExecutor() {
+        throw new RuntimeException();
+    }
+
+    /**
+     * Default executor
+     */
+    static final Executor EXECUTOR = create();
+
+    /**
+     * Creates virtual thread executor if available
+     * @return executor
+     */
+    private static @NotNull Executor create() {
+        try {
+            return (Executor) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                var thread = new Thread(runnable, "BetterCommand-Worker");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package kr.toxicity.command.impl;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * A precompiled binary bundle of lang file.
+ * A bundle stores all keys and serialized components of its source json, and is read by memory-mapped file.
+ * It is used if the length and last modified time of its source are not changed, and a crc32 checksum is compared only if the time is changed.
+ * So a fresh bundle is found without reading its source.
+ */
+final class LangBundle {
+
+    private static final int MAGIC = 0x42434C42;
+    private static final int VERSION = 3;
+    private static final MethodHandle INVOKE_CLEANER = invokeCleaner();
+
+    private LangBundle() {
+        throw new RuntimeException();
+    }
+
+    /**
+     * Finds Unsafe#invokeCleaner bound to Unsafe instance
+     * @return method handle or null if unavailable
+     */
+    private static @Nullable MethodHandle invokeCleaner() {
+        try {
+            var unsafe = Class.forName("sun.misc.Unsafe");
+            var field = unsafe.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            return MethodHandles.lookup()
+                    .findVirtual(unsafe, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                    .bindTo(field.get(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Gets bundle file of lang file
+     * @param cacheFolder bundle folder
+     * @param source lang file
+     * @return bundle file
+     */
+    static @NotNull File file(@NotNull File cacheFolder, @NotNull File source) {
+        return new File(cacheFolder, source.getName() + ".bin");
+    }
+
+    /**
+     * Computes crc32 checksum of file content
+     * @param path target file
+     * @return checksum
+     * @throws IOException if read failed
+     */
+    static long checksum(@NotNull Path path) throws IOException {
+        var crc = new CRC32();
+        try (InputStream stream = Files.newInputStream(path)) {
+            var buffer = new byte[8192];
+            int read;
+            while ((read = stream.read(buffer)) >= 0) {
+                crc.update(buffer, 0, read);
+            }
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * Reads bundle.
+     * A bundle is fresh if length and last modified time of lang file are not changed.
+     * If only the modified time is changed (e.g. copied or touched), the checksum decides it.
+     * @param bundle bundle file
+     * @param source lang file
+     * @return serialized components or null if bundle is absent, stale or corrupted
+     * @throws IOException if read failed
+     */
+    static @Nullable Map<String, String> read(@NotNull File bundle, @NotNull File source) throws IOException {
+        if (!bundle.isFile()) return null;
+        MappedByteBuffer buffer = null;
+        try (var channel = FileChannel.open(bundle.toPath(), StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) return null;
+            if (buffer.getLong() != source.length()) return null;
+            var modified = buffer.getLong();
+            var checksum = buffer.getLong();
+            if (modified != source.lastModified() && checksum != checksum(source.toPath())) return null;
+            var size = buffer.getInt();
+            //Each entry has two length fields at least, so a larger size is corrupted.
+            if (size < 0 || size > buffer.remaining() / 8) return null;
+            var map = new LinkedHashMap<String, String>((int) (size / 0.75F) + 1);
+            var bytes = new byte[256];
+            for (int i = 0; i < size; i++) {
+                map.put(readString(buffer, bytes), readString(buffer, bytes));
+            }
+            return map;
+        } catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+            return null;
+        } finally {
+            if (buffer != null) unmap(buffer);
+        }
+    }
+
+    /**
+     * Releases mapped buffer now, so the bundle can be replaced on a platform locking mapped files (e.g. Windows).
+     * If unavailable, it is released by GC instead.
+     * @param buffer mapped buffer
+     */
+    private static void unmap(@NotNull MappedByteBuffer buffer) {
+        if (INVOKE_CLEANER == null) return;
+        try {
+            INVOKE_CLEANER.invoke(buffer);
+        } catch (Throwable ignored) {
+            //Released by GC.
+        }
+    }
+
+    /**
+     * Reads UTF-8 string
+     * @param buffer mapped buffer
+     * @param bytes reusable byte array
+     * @return string
+     */
+    private static @NotNull String readString(@NotNull MappedByteBuffer buffer, byte @NotNull [] bytes) {
+        var length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) throw new IllegalArgumentException("Invalid length: " + length);
+        var target = length <= bytes.length ? bytes : new byte[length];
+        buffer.get(target, 0, length);
+        return new String(target, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes bundle
+     * @param bundle bundle file
+     * @param length length of lang file when it was read
+     * @param modified last modified time of lang file when it was read
+     * @param checksum checksum of lang file when it was read
+     * @param map serialized components
+     * @throws IOException if write failed
+     */
+    static void write(@NotNull File bundle, long length, long modified, long checksum, @NotNull Map<String, String> map) throws IOException {
+        var folder = bundle.getParentFile();
+        if (!folder.isDirectory() && !folder.mkdirs() && !folder.isDirectory()) throw new IOException("Unable to make a directory in " + folder.getPath());
+        var temp = new File(folder, bundle.getName() + ".tmp");
+        try (
+                var stream = new FileOutputStream(temp);
+                var buffered = new BufferedOutputStream(stream);
+                var data = new DataOutputStream(buffered)
+        ) {
+            data.writeInt(MAGIC);
+            data.writeInt(VERSION);
+            data.writeLong(length);
+            data.writeLong(modified);
+            data.writeLong(checksum);
+            data.writeInt(map.size());
+            for (Map.Entry<String, String> entry : map.entrySet()) {
+                writeString(data, entry.getKey());
+                writeString(data, entry.getValue());
+            }
+        }
+        try {
+            Files.move(temp.toPath(), bundle.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp.toPath(), bundle.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Writes UTF-8 string
+     * @param data output
+     * @param value string
+     * @throws IOException if write failed
+     */
+    private static void writeString(@NotNull DataOutputStream data, @NotNull String value) throws IOException {
+        var bytes = value.getBytes(StandardCharsets.UTF_8);
+        data.writeInt(bytes.length);
+        data.write(bytes);
+    }
+}
@@ -0,0 +1,198 @@
+package kr.toxicity.command.impl;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A watcher of lang files.
+ * Only a changed lang file is parsed again, other locales keep their components.
+ * @see BetterCommand#watch()
+ */
+public final class LangWatcher implements AutoCloseable {
+
+    private final BetterCommand root;
+    private final Path folder;
+    private final long debounce;
+    private final WatchService service;
+    private final Thread thread;
+    private final Map<Path, FileState> states = new HashMap<>();
+
+    private volatile boolean closed;
+
+    /**
+     * Starts watcher
+     * @param root main class
+     * @param dataFolder data folder
+     * @param debounce time to wait for more changes (ms)
+     * @throws IOException if watch service is unavailable
+     */
+    LangWatcher(@NotNull BetterCommand root, @NotNull File dataFolder, long debounce) throws IOException {
+        this.root = root;
+        this.folder = dataFolder.toPath();
+        this.debounce = Math.max(debounce, 0);
+        service = folder.getFileSystem().newWatchService();
+        folder.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        for (Path path : scan()) {
+            states.put(path, FileState.read(path, null));
+        }
+        thread = new Thread(this::run, "BetterCommand-LangWatcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Watches changes until closed
+     */
+    private void run() {
+        while (!closed) {
+            try {
+                var changed = new LinkedHashSet<Path>();
+                collect(service.take(), changed);
+                WatchKey next;
+                while ((next = service.poll(debounce, TimeUnit.MILLISECONDS)) != null) {
+                    collect(next, changed);
+                }
+                for (Path path : changed) {
+                    try {
+                        apply(path);
+                    } catch (RuntimeException e) {
+                        root.handleException(e, "Unable to reload this file: " + path);
+                    }
+                }
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                //Watcher is closed.
+                return;
+            } catch (RuntimeException e) {
+                root.handleException(e, "Unable to watch this folder: " + folder);
+            }
+        }
+    }
+
+    /**
+     * Collects changed lang files
+     * @param key watch key
+     * @param changed changed files
+     */
+    private void collect(@NotNull WatchKey key, @NotNull Set<Path> changed) {
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                changed.addAll(states.keySet());
+                changed.addAll(scan());
+            } else if (event.context() instanceof Path path) {
+                var resolved = folder.resolve(path);
+                if (isJson(resolved)) changed.add(resolved);
+            }
+        }
+        key.reset();
+    }
+
+    /**
+     * Reloads changed lang file.
+     * It holds the same lock as {@link BetterCommand#reload()}, so a full reload and this update are applied in order.
+     * @param path lang file
+     */
+    private void apply(@NotNull Path path) {
+        synchronized (root) {
+            update(path);
+        }
+    }
+
+    /**
+     * Updates registry by changed lang file
+     * @param path lang file
+     */
+    private void update(@NotNull Path path) {
+        var file = path.toFile();
+        var fileName = BetterCommand.FileName.parse(file);
+        if (!Files.isRegularFile(path)) {
+            if (states.remove(path) != null) {
+                root.registry.remove(fileName.locale());
+                root.logger().info("Lang file removed: " + fileName.locale());
+            }
+            return;
+        }
+        var previous = states.get(path);
+        FileState state;
+        try {
+            state = FileState.read(path, previous);
+        } catch (IOException e) {
+            root.handleException(e, "Unable to read this file: " + file.getPath());
+            return;
+        }
+        if (state == previous) return;
+        states.put(path, state);
+        if (previous != null && previous.checksum == state.checksum) return;
+        var lang = root.loadLang(file);
+        if (lang.templates() == null) return;
+        root.registry.update(fileName.locale(), lang.templates());
+        root.logger().info("Lang file reloaded: " + fileName.locale() + " (" + lang.time() + " ms)");
+    }
+
+    /**
+     * Scans all lang files in data folder
+     * @return lang files
+     */
+    private @NotNull Set<Path> scan() {
+        var set = new LinkedHashSet<Path>();
+        try (var stream = Files.list(folder)) {
+            stream.filter(LangWatcher::isJson).forEach(set::add);
+        } catch (IOException e) {
+            root.handleException(e, "Unable to scan this folder: " + folder);
+        }
+        return set;
+    }
+
+    /**
+     * Checks whether this path is a json file
+     * @param path target path
+     * @return whether json
+     */
+    private static boolean isJson(@NotNull Path path) {
+        return BetterCommand.FileName.parse(path.toFile()).isJson();
+    }
+
+    /**
+     * Stops watching
+     */
+    @Override
+    public void close() {
+        closed = true;
+        thread.interrupt();
+        try {
+            service.close();
+        } catch (IOException e) {
+            root.handleException(e);
+        }
+    }
+
+    /**
+     * State of lang file
+     * @param modified last modified time
+     * @param size file size
+     * @param checksum crc32 checksum of content
+     */
+    private record FileState(long modified, long size, long checksum) {
+        /**
+         * Reads state of file. previous state is returned if modified time and size are not changed.
+         * @param path target file
+         * @param previous previous state
+         * @return state
+         * @throws IOException if read failed
+         */
+        private static @NotNull FileState read(@NotNull Path path, @Nullable FileState previous) throws IOException {
+            var modified = Files.getLastModifiedTime(path).toMillis();
+            var size = Files.size(path);
+            if (previous != null && previous.modified == modified && previous.size == size) return previous;
+            return new FileState(modified, size, LangBundle.checksum(path));
+        }
+    }
+}
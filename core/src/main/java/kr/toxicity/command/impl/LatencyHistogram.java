@@ -0,0 +1,91 @@
+package kr.toxicity.command.impl;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of latency.
+ * Each bucket holds the values in [2^(i - 1), 2^i) nanoseconds, so recording costs one atomic increment without any lock.
+ */
+public final class LatencyHistogram {
+
+    private static final int BUCKETS = 65;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a latency
+     * @param nanos latency (ns)
+     */
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        buckets.incrementAndGet(bucket(nanos));
+        sum.add(nanos);
+        var get = max.get();
+        while (nanos > get && !max.compareAndSet(get, nanos)) get = max.get();
+    }
+
+    /**
+     * Takes a snapshot of this histogram.
+     * A latency recorded while taking a snapshot may be partially included.
+     * @return snapshot
+     */
+    public @NotNull Snapshot snapshot() {
+        var array = new long[BUCKETS];
+        var count = 0L;
+        for (int i = 0; i < BUCKETS; i++) {
+            count += array[i] = buckets.get(i);
+        }
+        return new Snapshot(count, sum.sum(), max.get(), array);
+    }
+
+    /**
+     * Gets bucket index of latency
+     * @param nanos latency (ns)
+     * @return bucket index
+     */
+    private static int bucket(long nanos) {
+        return 64 - Long.numberOfLeadingZeros(nanos);
+    }
+
+    /**
+     * Snapshot of histogram
+     * @param count the number of recorded latency
+     * @param sum sum of latency (ns)
+     * @param max max latency (ns)
+     * @param buckets count of each bucket
+     */
+    public record Snapshot(long count, long sum, long max, long @NotNull [] buckets) {
+        /**
+         * Gets mean latency
+         * @return mean latency (ns)
+         */
+        public double mean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        /**
+         * Gets an upper bound of latency at this percentile
+         * @param percentile percentile (0 ~ 100)
+         * @return latency (ns)
+         */
+        public long percentile(double percentile) {
+            if (percentile < 0 || percentile > 100) throw new IllegalArgumentException("percentile must be in 0 ~ 100.");
+            if (count == 0) return 0;
+            var target = Math.max((long) Math.ceil(count * percentile / 100), 1);
+            var accumulated = 0L;
+            for (int i = 0; i < buckets.length; i++) {
+                accumulated += buckets[i];
+                if (accumulated < target) continue;
+                if (i == 0) return 0;
+                return i == 64 ? max : Math.min((1L << i) - 1, max);
+            }
+            return max;
+        }
+    }
+}
@@ -42,10 +42,20 @@ public final class MessageFunction<W extends BetterCommandSource> {
      * @return message
      */
     public @NotNull CommandMessage find(@NotNull W w) {
-        for (ConditionalMessage conditionalMessage : conditionalMessages) {
-            if (conditionalMessage.predicate.test(w)) return conditionalMessage.message;
+        var index = variant(w);
+        return index < 0 ? defaultMessage : conditionalMessages.get(index).message;
+    }
+
+    /**
+     * Finds index of matched conditional message by command source
+     * @param w source
+     * @return index or -1 if default message is matched
+     */
+    int variant(@NotNull W w) {
+        for (int i = 0; i < conditionalMessages.size(); i++) {
+            if (conditionalMessages.get(i).predicate.test(w)) return i;
         }
-        return defaultMessage;
+        return -1;
     }
 
     /**
@@ -1,52 +1,169 @@
 package kr.toxicity.command.impl;
 
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
 import kr.toxicity.command.BetterCommandSource;
 import kr.toxicity.command.impl.exception.NotJsonPrimitiveException;
 import lombok.RequiredArgsConstructor;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.serializer.ComponentSerializer;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.HashMap;
-import java.util.Locale;
-import java.util.Map;
-import java.util.Objects;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
 
 /**
- * A registry of component
+ * A registry of component.
+ * Every lang is published as an immutable snapshot, so readers never see a partially loaded registry.
+ * A lookup falls back in order of exact locale, language only, server default locale and default message.
  * @see Component
  */
 @RequiredArgsConstructor
 final class MessageRegistry {
-    private final Map<Locale, Map<String, Component>> localeMap = new HashMap<>();
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(new Snapshot(Map.of(), null));
+    private final AtomicLong generation = new AtomicLong();
+    private final Map<CommandMessage, MessageTemplate> defaultMap = new ConcurrentHashMap<>();
     private final ComponentSerializer<Component, Component, String> serializer;
 
     /**
-     * Register lang file
+     * Sets server default locale
+     * @param locale default locale or null to use default message
+     */
+    void defaultLocale(@Nullable Locale locale) {
+        snapshot.updateAndGet(old -> new Snapshot(old.locales, locale));
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Register lang file if this locale is not registered yet
      * @param locale target locale
-     * @param object json object
+     * @param raw serialized components
      */
-    void register(@NotNull Locale locale, @NotNull JsonObject object) {
+    void register(@NotNull Locale locale, @NotNull Map<String, String> raw) {
         Objects.requireNonNull(locale, "locale");
-        Objects.requireNonNull(object, "object");
-        localeMap.computeIfAbsent(locale, l -> {
-            var map = new HashMap<String, Component>();
-            for (Map.Entry<String, JsonElement> entry : object.entrySet()) {
-                var value = entry.getValue();
-                if (!value.isJsonPrimitive()) throw new NotJsonPrimitiveException("The key " + entry.getKey() + " in " + locale + " is not a json primitive.");
-                map.put(entry.getKey(), serializer.deserialize(value.getAsString()));
-            }
-            return map;
+        Objects.requireNonNull(raw, "raw");
+        if (contains(locale)) return;
+        var map = compile(raw);
+        snapshot.updateAndGet(old -> {
+            if (old.locales.containsKey(locale)) return old;
+            var copy = new HashMap<>(old.locales);
+            copy.put(locale, map);
+            return new Snapshot(copy, old.defaultLocale);
+        });
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Replaces lang of this locale
+     * @param locale target locale
+     * @param templates compiled templates
+     */
+    void update(@NotNull Locale locale, @NotNull Map<String, MessageTemplate> templates) {
+        Objects.requireNonNull(locale, "locale");
+        Objects.requireNonNull(templates, "templates");
+        snapshot.updateAndGet(old -> {
+            var copy = new HashMap<>(old.locales);
+            copy.put(locale, templates);
+            return new Snapshot(copy, old.defaultLocale);
+        });
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Removes lang of this locale
+     * @param locale target locale
+     */
+    void remove(@NotNull Locale locale) {
+        Objects.requireNonNull(locale, "locale");
+        snapshot.updateAndGet(old -> {
+            if (!old.locales.containsKey(locale)) return old;
+            var copy = new HashMap<>(old.locales);
+            copy.remove(locale);
+            return new Snapshot(copy, old.defaultLocale);
         });
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Compiles json object to templates while reading it, without building a json tree
+     * @param locale target locale
+     * @param reader json reader positioned at json object
+     * @return immutable templates
+     * @throws IOException if unable to read
+     * @throws NotJsonPrimitiveException if some value is not a json primitive
+     */
+    @NotNull Map<String, MessageTemplate> compile(@NotNull Locale locale, @NotNull JsonReader reader) throws IOException {
+        var map = new HashMap<String, MessageTemplate>();
+        read(locale, reader, (key, value) -> map.put(key, MessageTemplate.compile(serializer.deserialize(value), serializer)));
+        return Map.copyOf(map);
+    }
+
+    /**
+     * Compiles serialized components to templates
+     * @param raw serialized components
+     * @return immutable templates
+     */
+    @NotNull Map<String, MessageTemplate> compile(@NotNull Map<String, String> raw) {
+        var map = new HashMap<String, MessageTemplate>();
+        for (Map.Entry<String, String> entry : raw.entrySet()) {
+            map.put(entry.getKey(), MessageTemplate.compile(serializer.deserialize(entry.getValue()), serializer));
+        }
+        return Map.copyOf(map);
+    }
+
+    /**
+     * Reads serialized components in json object
+     * @param locale target locale
+     * @param reader json reader positioned at json object
+     * @return serialized components
+     * @throws IOException if unable to read
+     * @throws NotJsonPrimitiveException if some value is not a json primitive
+     */
+    static @NotNull Map<String, String> raw(@NotNull Locale locale, @NotNull JsonReader reader) throws IOException {
+        var map = new LinkedHashMap<String, String>();
+        read(locale, reader, map::put);
+        return map;
+    }
+
+    /**
+     * Reads each entry of json object token by token
+     * @param locale target locale
+     * @param reader json reader positioned at json object
+     * @param consumer consumer of key and value
+     * @throws IOException if unable to read
+     * @throws NotJsonPrimitiveException if some value is not a json primitive
+     */
+    private static void read(@NotNull Locale locale, @NotNull JsonReader reader, @NotNull BiConsumer<String, String> consumer) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            var key = reader.nextName();
+            switch (reader.peek()) {
+                case STRING, NUMBER -> consumer.accept(key, reader.nextString());
+                case BOOLEAN -> consumer.accept(key, Boolean.toString(reader.nextBoolean()));
+                default -> throw new NotJsonPrimitiveException("The key " + key + " in " + locale + " is not a json primitive.");
+            }
+        }
+        reader.endObject();
+    }
+
+    /**
+     * Gets generation which is increased whenever lang is changed
+     * @return generation
+     */
+    long generation() {
+        return generation.get();
     }
 
     /**
-     * Clears all lang
+     * Creates a loader which builds a new snapshot off to the side
+     * @return loader
      */
-    void clear() {
-        localeMap.clear();
+    @NotNull Loader loader() {
+        return new Loader();
     }
 
     /**
@@ -55,7 +172,7 @@ final class MessageRegistry {
      * @return whether to contain
      */
     boolean contains(@NotNull Locale locale) {
-        return localeMap.containsKey(locale);
+        return snapshot.get().locales.containsKey(locale);
     }
 
     /**
@@ -65,10 +182,174 @@ final class MessageRegistry {
      * @return component
      */
     @NotNull Component find(@NotNull BetterCommandSource source, @NotNull CommandMessage message) {
-        var map = localeMap.get(source.locale());
-        if (map == null) return message.defaultMessage();
-        var component = map.get(message.key());
-        if (component == null) return message.defaultMessage();
-        return component;
+        var template = snapshot.get().resolve(source.locale()).get(message);
+        if (template == null) return message.defaultMessage();
+        return template.component();
+    }
+
+    /**
+     * Finds compiled template by source and message
+     * @param source target source
+     * @param message target message
+     * @return template
+     */
+    @NotNull MessageTemplate template(@NotNull BetterCommandSource source, @NotNull CommandMessage message) {
+        var template = snapshot.get().resolve(source.locale()).get(message);
+        if (template != null) return template;
+        return defaultMap.computeIfAbsent(message, m -> MessageTemplate.compile(m.defaultMessage(), serializer));
+    }
+
+    /**
+     * Snapshot loader
+     */
+    final class Loader {
+        private final Map<Locale, Map<String, MessageTemplate>> map = new HashMap<>();
+
+        /**
+         * Hidden initializer
+         */
+        private Loader() {
+        }
+
+        /**
+         * Register compiled lang if this locale is not registered yet
+         * @param locale target locale
+         * @param templates compiled templates
+         * @return whether to register
+         * @see #compile(Locale, JsonReader)
+         */
+        boolean register(@NotNull Locale locale, @NotNull Map<String, MessageTemplate> templates) {
+            Objects.requireNonNull(locale, "locale");
+            Objects.requireNonNull(templates, "templates");
+            return map.putIfAbsent(locale, templates) == null;
+        }
+
+        /**
+         * Replaces current snapshot to this loader's lang
+         */
+        void publish() {
+            snapshot.updateAndGet(old -> new Snapshot(map, old.defaultLocale));
+            generation.incrementAndGet();
+        }
+    }
+
+    /**
+     * Immutable snapshot of all lang with its resolved fallback cache.
+     * A lang is shared by all locales resolving to the same fallback chain, and a locale of source is cached up to a fixed size
+     * because it is given by client.
+     */
+    private static final class Snapshot {
+        private static final int MAX_RESOLVED_LOCALES = 256;
+
+        private final Map<Locale, Map<String, MessageTemplate>> locales;
+        private final Locale defaultLocale;
+        private final Map<List<Locale>, Lang> langs = new ConcurrentHashMap<>();
+        private final Map<Locale, Lang> resolved = new ConcurrentHashMap<>();
+
+        /**
+         * Creates snapshot
+         * @param locales all lang
+         * @param defaultLocale server default locale
+         */
+        private Snapshot(@NotNull Map<Locale, Map<String, MessageTemplate>> locales, @Nullable Locale defaultLocale) {
+            this.locales = Map.copyOf(locales);
+            this.defaultLocale = defaultLocale;
+        }
+
+        /**
+         * Resolves all templates applicable to this locale
+         * @param locale target locale
+         * @return templates
+         */
+        private @NotNull Lang resolve(@NotNull Locale locale) {
+            var get = resolved.get(locale);
+            if (get != null) return get;
+            var lang = langs.computeIfAbsent(chain(locale), chain -> new Lang(chain.stream().map(locales::get).toList()));
+            if (resolved.size() < MAX_RESOLVED_LOCALES) resolved.putIfAbsent(locale, lang);
+            return lang;
+        }
+
+        /**
+         * Gets registered locales of fallback chain of this locale in priority order
+         * @param locale target locale
+         * @return chain
+         */
+        private @NotNull List<Locale> chain(@NotNull Locale locale) {
+            var chain = new ArrayList<Locale>(4);
+            add(chain, locale);
+            add(chain, new Locale(locale.getLanguage()));
+            if (defaultLocale != null) {
+                add(chain, defaultLocale);
+                add(chain, new Locale(defaultLocale.getLanguage()));
+            }
+            return chain;
+        }
+
+        /**
+         * Adds locale to chain if registered
+         * @param chain fallback chain
+         * @param locale target locale
+         */
+        private void add(@NotNull List<Locale> chain, @NotNull Locale locale) {
+            if (locales.containsKey(locale) && !chain.contains(locale)) chain.add(locale);
+        }
+    }
+
+    /**
+     * Resolved lang of some locale indexed by message id.
+     * It keeps only an array and references to templates of snapshot, so no merged map is copied.
+     */
+    private static final class Lang {
+        private final List<Map<String, MessageTemplate>> chain;
+        private volatile MessageTemplate[] array = new MessageTemplate[0];
+
+        /**
+         * Creates lang
+         * @param chain templates of each locale in priority order
+         */
+        private Lang(@NotNull List<Map<String, MessageTemplate>> chain) {
+            this.chain = chain;
+        }
+
+        /**
+         * Gets template of message
+         * @param message target message
+         * @return template or null if not exists
+         */
+        private @Nullable MessageTemplate get(@NotNull CommandMessage message) {
+            var get = array;
+            var id = message.id();
+            if (id >= get.length) get = grow(id);
+            return get[id];
+        }
+
+        /**
+         * Indexes all messages generated until now
+         * @param id required id
+         * @return indexed templates
+         */
+        private synchronized @NotNull MessageTemplate[] grow(int id) {
+            var get = array;
+            if (id < get.length) return get;
+            var messages = CommandMessage.indexedMessages();
+            var newArray = Arrays.copyOf(get, messages.size());
+            for (int i = get.length; i < newArray.length; i++) {
+                newArray[i] = find(messages.get(i).key());
+            }
+            return array = newArray;
+        }
+
+        /**
+         * Finds template of key by fallback chain
+         * @param key message key
+         * @return template or null if not exists
+         */
+        private @Nullable MessageTemplate find(@NotNull String key) {
+            for (Map<String, MessageTemplate> templates : chain) {
+                var get = templates.get(key);
+                if (get != null) return get;
+            }
+            return null;
+        }
     }
 }
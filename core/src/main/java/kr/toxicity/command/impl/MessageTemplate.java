@@ -0,0 +1,238 @@
+package kr.toxicity.command.impl;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.event.HoverEvent;
+import net.kyori.adventure.text.serializer.ComponentSerializer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * A precompiled message component.
+ * Placeholders like [value] are resolved once when this template is compiled.
+ */
+public final class MessageTemplate {
+
+    private static final Pattern VALUE_PATTERN = Pattern.compile("\\[(?<value>[a-zA-Z]+)]");
+
+    private final Component component;
+    private final boolean empty;
+    private final List<String> slots;
+    private final Node node;
+
+    /**
+     * Initializes template
+     * @param component original component
+     * @param empty whether serialized component is empty
+     * @param slots all placeholder names
+     * @param node compiled node or null if there is no placeholder
+     */
+    private MessageTemplate(@NotNull Component component, boolean empty, @NotNull List<String> slots, @Nullable Node node) {
+        this.component = component;
+        this.empty = empty;
+        this.slots = slots;
+        this.node = node;
+    }
+
+    /**
+     * Compiles component to template
+     * @param component target component
+     * @param serializer component serializer
+     * @return template
+     */
+    public static @NotNull MessageTemplate compile(@NotNull Component component, @NotNull ComponentSerializer<Component, Component, String> serializer) {
+        Objects.requireNonNull(component, "component");
+        Objects.requireNonNull(serializer, "serializer");
+        var slots = new LinkedHashSet<String>();
+        var node = compile(component, slots);
+        return new MessageTemplate(
+                component,
+                serializer.serialize(component).isEmpty(),
+                List.copyOf(slots),
+                node instanceof StaticNode ? null : node
+        );
+    }
+
+    /**
+     * Gets original component
+     * @return component
+     */
+    public @NotNull Component component() {
+        return component;
+    }
+
+    /**
+     * Gets whether this message is empty
+     * @return whether empty
+     */
+    public boolean isEmpty() {
+        return empty;
+    }
+
+    /**
+     * Gets all placeholder names in appearance order
+     * @return placeholder names
+     */
+    public @NotNull @Unmodifiable List<String> slots() {
+        return slots;
+    }
+
+    /**
+     * Renders this template
+     * @param resolver placeholder resolver
+     * @return rendered component
+     */
+    public @NotNull Component render(@NotNull Resolver resolver) {
+        if (node == null) return component;
+        return node.render(resolver);
+    }
+
+    /**
+     * Renders this template by map
+     * @param values placeholder values
+     * @return rendered component
+     */
+    public @NotNull Component render(@NotNull Map<String, Component> values) {
+        if (node == null) return component;
+        return node.render(values::get);
+    }
+
+    /**
+     * Placeholder resolver
+     */
+    @FunctionalInterface
+    public interface Resolver {
+        /**
+         * Resolves placeholder
+         * @param name placeholder name
+         * @return value or null to keep placeholder as is
+         */
+        @Nullable Component resolve(@NotNull String name);
+    }
+
+    /**
+     * Compiles component tree
+     * @param component target component
+     * @param slots found placeholders
+     * @return compiled node
+     */
+    private static @NotNull Node compile(@NotNull Component component, @NotNull Set<String> slots) {
+        Part[] parts = null;
+        if (component instanceof TextComponent text) {
+            var matcher = VALUE_PATTERN.matcher(text.content());
+            if (matcher.find()) {
+                var list = new ArrayList<Part>();
+                var content = text.content();
+                var index = 0;
+                do {
+                    if (matcher.start() > index) list.add(new Part(content.substring(index, matcher.start()), false));
+                    var group = matcher.group(1);
+                    slots.add(group);
+                    list.add(new Part(group, true));
+                    index = matcher.end();
+                } while (matcher.find());
+                if (index < content.length()) list.add(new Part(content.substring(index), false));
+                parts = list.toArray(Part[]::new);
+            }
+        }
+        Node hover = null;
+        var hoverEvent = component.style().hoverEvent();
+        if (hoverEvent != null && hoverEvent.action() == HoverEvent.Action.SHOW_TEXT) {
+            var compiled = compile((Component) hoverEvent.value(), slots);
+            if (!(compiled instanceof StaticNode)) hover = compiled;
+        }
+        var children = component.children();
+        var nodes = new Node[children.size()];
+        var dynamic = parts != null || hover != null;
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = compile(children.get(i), slots);
+            if (!(nodes[i] instanceof StaticNode)) dynamic = true;
+        }
+        if (!dynamic) return new StaticNode(component);
+        return new DynamicNode(component, parts, hover, nodes);
+    }
+
+    /**
+     * Compiled component
+     */
+    private sealed interface Node {
+        /**
+         * Renders component
+         * @param resolver placeholder resolver
+         * @return rendered component
+         */
+        @NotNull Component render(@NotNull Resolver resolver);
+    }
+
+    /**
+     * Component without any placeholder
+     * @param component component
+     */
+    private record StaticNode(@NotNull Component component) implements Node {
+        @Override
+        public @NotNull Component render(@NotNull Resolver resolver) {
+            return component;
+        }
+    }
+
+    /**
+     * Component with placeholder in itself or its children
+     * @param component original component
+     * @param parts split content or null if content has no placeholder
+     * @param hover compiled hover text or null if hover has no placeholder
+     * @param children compiled children
+     */
+    private record DynamicNode(@NotNull Component component, @Nullable Part[] parts, @Nullable Node hover, @NotNull Node[] children) implements Node {
+        @Override
+        public @NotNull Component render(@NotNull Resolver resolver) {
+            var renderedChildren = new ArrayList<Component>(children.length + (parts != null ? parts.length : 0));
+            var style = component.style();
+            if (hover != null) style = style.hoverEvent(HoverEvent.showText(hover.render(resolver)));
+            if (parts != null) {
+                var first = 0;
+                var content = "";
+                if (!parts[0].slot) {
+                    content = parts[0].value;
+                    first = 1;
+                }
+                for (int i = first; i < parts.length; i++) {
+                    renderedChildren.add(parts[i].render(resolver));
+                }
+                for (Node child : children) {
+                    renderedChildren.add(child.render(resolver));
+                }
+                return Component.text()
+                        .content(content)
+                        .style(style)
+                        .append(renderedChildren)
+                        .build();
+            }
+            for (Node child : children) {
+                renderedChildren.add(child.render(resolver));
+            }
+            return component.style(style).children(renderedChildren);
+        }
+    }
+
+    /**
+     * A part of text content
+     * @param value literal text or placeholder name
+     * @param slot whether this part is a placeholder
+     */
+    private record Part(@NotNull String value, boolean slot) {
+        /**
+         * Renders this part
+         * @param resolver placeholder resolver
+         * @return rendered component
+         */
+        private @NotNull Component render(@NotNull Resolver resolver) {
+            if (!slot) return Component.text(value);
+            var get = resolver.resolve(value);
+            return get != null ? get : Component.text("[" + value + "]");
+        }
+    }
+}
@@ -1,19 +1,27 @@
 package kr.toxicity.command.impl;
 
 import com.mojang.brigadier.Command;
+import com.mojang.brigadier.arguments.ArgumentType;
 import com.mojang.brigadier.arguments.StringArgumentType;
 import com.mojang.brigadier.builder.LiteralArgumentBuilder;
 import com.mojang.brigadier.builder.RequiredArgumentBuilder;
 import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.tree.CommandNode;
 import kr.toxicity.command.BetterCommandSource;
 import kr.toxicity.command.CommandArgument;
+import kr.toxicity.command.CommandInterceptor;
 import kr.toxicity.command.CommandListener;
+import kr.toxicity.command.CommandMetrics;
 import kr.toxicity.command.SenderType;
 import kr.toxicity.command.impl.annotation.*;
+import kr.toxicity.command.impl.descriptor.MethodDescriptor;
+import kr.toxicity.command.impl.descriptor.MethodInvoker;
+import kr.toxicity.command.impl.descriptor.ParameterDescriptor;
+import kr.toxicity.command.impl.descriptor.RateLimitDescriptor;
 import kr.toxicity.command.impl.exception.NotLastParameterException;
 import kr.toxicity.command.impl.exception.NotSerializerRegisteredException;
+import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.TextReplacementConfig;
 import net.kyori.adventure.text.event.HoverEvent;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -21,12 +29,16 @@ import org.jetbrains.annotations.Nullable;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.util.*;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
-import java.util.regex.Pattern;
 
 /**
- * A reflection class of executor
+ * An executor of command method
  * @see CommandListener
+ * @see MethodDescriptor
  * @param <W>
  */
 class MethodExecutor<W extends BetterCommandSource> implements CommandArgument<W> {
@@ -41,51 +53,264 @@ class MethodExecutor<W extends BetterCommandSource> implements CommandArgument<W
             Map.entry(Byte.TYPE, Byte.class),
             Map.entry(Long.TYPE, Long.class)
     );
-    private static final Pattern VALUE_PATTERN = Pattern.compile("\\[value]");
 
     private final BetterCommand root;
+    private final CommandModule<?> parent;
     private final String name;
     private final CommandMessage description;
     private final String permission;
-    private final CommandListener obj;
-    private final Method method;
+    private final SenderType[] type;
+    private final List<ParameterDescriptor> parameters;
+    private final boolean async;
+    private final boolean buffered;
+    private final RateLimiter rateLimiter;
+    private final Invoker invoker;
 
     private final String[] aliases;
     private List<UsageGetter<W>> usage = Collections.emptyList();
+    private static final int MAX_USAGES = 256;
+
+    private final Map<UsageKey, RenderedUsage> usageCache = new ConcurrentHashMap<>();
+
+    /**
+     * Initializes executor by reflection
+     * @param root main class
+     * @param parent parent module
+     * @param obj parent class
+     * @param method target method
+     */
+    MethodExecutor(@NotNull BetterCommand root, @NotNull CommandModule<?> parent, @NotNull CommandListener obj, @NotNull Method method) {
+        this(root, parent, obj, describe(root, method));
+    }
 
     /**
      * Initializes executor
      * @param root main class
+     * @param parent parent module
      * @param obj parent class
+     * @param descriptor method descriptor
+     * @param <L> listener class
+     */
+    <L extends CommandListener> MethodExecutor(@NotNull BetterCommand root, @NotNull CommandModule<?> parent, @NotNull L obj, @NotNull MethodDescriptor<? super L> descriptor) {
+        this.root = root;
+        this.parent = parent;
+        name = descriptor.name();
+        this.description = new CommandMessage(descriptor.descriptionKey(), root.serializer.deserialize(descriptor.descriptionDefault()));
+        this.permission = descriptor.permission();
+        this.type = descriptor.type();
+        this.parameters = descriptor.parameters();
+        this.async = descriptor.async();
+        this.buffered = parameters.stream().anyMatch(ParameterDescriptor::source);
+        this.rateLimiter = descriptor.rateLimit() != null ? new RateLimiter(descriptor.rateLimit()) : null;
+        aliases = descriptor.aliases();
+        var methodInvoker = descriptor.invoker();
+        this.invoker = args -> methodInvoker.invoke(obj, args);
+    }
+
+    /**
+     * Reads a method descriptor by reflection
+     * @param root main class
      * @param method target method
+     * @return method descriptor
      */
-    MethodExecutor(@NotNull BetterCommand root, @NotNull CommandListener obj, @NotNull Method method) {
+    private static @NotNull MethodDescriptor<CommandListener> describe(@NotNull BetterCommand root, @NotNull Method method) {
         try {
             method.setAccessible(true);
         } catch (Exception e) {
             root.handleException(e);
             throw new RuntimeException(e);
         }
-        this.root = root;
-        name = method.getName();
+        var name = method.getName();
         var description = Objects.requireNonNull(
                 method.getDeclaredAnnotation(Description.class),
                 "@Description annotation not found in method " + name + "."
         );
-        this.description = new CommandMessage(description.key(), root.serializer.deserialize(description.defaultValue()));
-        this.permission = Optional.ofNullable(method.getDeclaredAnnotation(Permission.class)).map(Permission::value).orElse(null);
-
+        var permission = Optional.ofNullable(method.getDeclaredAnnotation(Permission.class)).map(Permission::value).orElse(null);
         var aliasesAnnotation = method.getAnnotation(Aliases.class);
-        aliases = aliasesAnnotation != null ? aliasesAnnotation.aliases() : new String[0];
-        this.method = method;
-        this.obj = obj;
+        var typeAnnotation = method.getAnnotation(Sender.class);
+        var parameters = new ArrayList<ParameterDescriptor>(method.getParameterCount());
+        var namePresent = true;
+        for (Parameter parameter : method.getParameters()) {
+            var option = parameter.getAnnotation(Option.class) != null;
+            var source = parameter.getAnnotation(Source.class) != null;
+            if (!source && !parameter.isNamePresent()) namePresent = false;
+            parameters.add(new ParameterDescriptor(
+                    parameter.getName(),
+                    parameter.getType(),
+                    source,
+                    option,
+                    parameter.getAnnotation(Vararg.class) != null,
+                    !option && parameter.getAnnotation(CanBeNull.class) != null
+            ));
+        }
+        //A generated descriptor always has source names, so a reflected one should be the same.
+        if (!namePresent) root.logger().warn(
+                "Parameter names of " + method.getDeclaringClass().getName() + "#" + name + " are not present. usage will show arg0, arg1...",
+                "Compile it with -parameters or add the annotation processor."
+        );
+        return new MethodDescriptor<>(
+                name,
+                description.key(),
+                description.defaultValue(),
+                permission,
+                aliasesAnnotation != null ? aliasesAnnotation.aliases() : new String[0],
+                typeAnnotation != null ? typeAnnotation.type() : SenderType.values(),
+                method.getAnnotation(Async.class) != null || method.getDeclaringClass().getAnnotation(Async.class) != null,
+                rateLimit(method),
+                Collections.unmodifiableList(parameters),
+                MethodInvokers.of(method)
+        );
+    }
+
+    /**
+     * Invokes command method on dispatching thread or command executor
+     * @param path command path
+     * @param source command source
+     * @param chain compiled interceptors
+     * @param args arguments
+     * @throws Throwable if synchronous method throws an exception
+     */
+    private void invoke(@NotNull String path, @Nullable W source, @NotNull CommandInterceptor[] chain, @NotNull Object[] args) throws Throwable {
+        if (!async) {
+            call(path, source, chain, args);
+            return;
+        }
+        root.commandExecutor().execute(() -> {
+            try {
+                call(path, source, chain, args);
+            } catch (Throwable e) {
+                root.handleException(e);
+            }
+        });
+    }
+
+    /**
+     * Calls command method and records its execution time
+     * @param path command path
+     * @param source command source
+     * @param chain compiled interceptors
+     * @param args arguments
+     * @throws Throwable if method throws an exception
+     */
+    private void call(@NotNull String path, @Nullable W source, @NotNull CommandInterceptor[] chain, @NotNull Object[] args) throws Throwable {
+        var metrics = root.metrics();
+        var start = metrics != CommandMetrics.NOOP ? System.nanoTime() : 0;
+        var output = begin(source, args);
+        Object result;
+        try {
+            result = proceed(path, source, chain, args);
+        } catch (Throwable e) {
+            if (metrics != CommandMetrics.NOOP) metrics.failed(path, System.nanoTime() - start, e);
+            flush(source, output, args);
+            throw e;
+        }
+        if (result instanceof CompletionStage<?> stage) {
+            stage.whenComplete((r, e) -> {
+                var cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                if (metrics != CommandMetrics.NOOP) {
+                    if (cause != null) metrics.failed(path, System.nanoTime() - start, cause);
+                    else metrics.executed(path, System.nanoTime() - start);
+                }
+                flush(source, output, args);
+                if (cause != null) root.handleException(cause);
+            });
+            return;
+        }
+        if (metrics != CommandMetrics.NOOP) metrics.executed(path, System.nanoTime() - start);
+        flush(source, output, args);
+    }
+
+    /**
+     * Starts buffering messages which are sent to this source by message senders of main class until the execution ends.
+     * A message sent directly to the audience of source can't be buffered, so only @Source Audience buffers it.
+     * @param source command source
+     * @param args arguments
+     * @return buffer of source or null if not buffered or another execution of this source is buffering
+     */
+    private @Nullable OutputBuffer begin(@Nullable W source, @NotNull Object[] args) {
+        if (!buffered || source == null) return null;
+        OutputBuffer buffer = null;
+        for (Object arg : args) {
+            if (arg instanceof OutputBuffer get) {
+                buffer = get;
+                break;
+            }
+        }
+        var own = buffer != null ? buffer : new OutputBuffer(source.audience());
+        return root.outputs.computeIfAbsent(source, s -> own) == own ? own : null;
+    }
+
+    /**
+     * Flushes output buffers of this execution
+     * @param source command source
+     * @param output buffer of source or null
+     * @param args arguments
+     */
+    private void flush(@Nullable W source, @Nullable OutputBuffer output, @NotNull Object[] args) {
+        if (!buffered) return;
+        if (source != null && output != null) {
+            root.outputs.remove(source);
+            output.flush();
+        }
+        for (Object arg : args) {
+            if (arg instanceof OutputBuffer buffer) buffer.flush();
+        }
+    }
+
+    /**
+     * Calls command method through interceptors.
+     * An invocation is created only if any interceptor exists.
+     * @param path command path
+     * @param source command source
+     * @param chain compiled interceptors
+     * @param args arguments
+     * @return returned value
+     * @throws Throwable if method throws an exception
+     */
+    private @Nullable Object proceed(@NotNull String path, @Nullable W source, @NotNull CommandInterceptor[] chain, @NotNull Object[] args) throws Throwable {
+        if (chain.length == 0) return invoker.invoke(args);
+        return new CommandInvocation(path, source, args, chain, invoker).proceed();
+    }
+
+    /**
+     * Reads a rate limit by reflection
+     * @param method target method
+     * @return rate limit or null if not set
+     */
+    private static @Nullable RateLimitDescriptor rateLimit(@NotNull Method method) {
+        var rateLimit = method.getAnnotation(RateLimit.class);
+        if (rateLimit != null) return new RateLimitDescriptor(rateLimit.permits(), rateLimit.unit().toNanos(rateLimit.period()));
+        var cooldown = method.getAnnotation(Cooldown.class);
+        if (cooldown != null) return new RateLimitDescriptor(1, cooldown.unit().toNanos(cooldown.value()));
+        return null;
+    }
+
+    /**
+     * Checks rate limit of source before parsing arguments
+     * @param wrapper command source
+     * @return whether this source is limited
+     */
+    private boolean limited(@Nullable W wrapper) {
+        if (rateLimiter == null || wrapper == null) return false;
+        var wait = rateLimiter.acquire(wrapper.identity());
+        if (wait <= 0) return false;
+        var seconds = Long.toString((wait + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        wrapper.audience().sendMessage(
+                root.registry.template(wrapper, CommandModule.RATE_LIMITED)
+                        .render(name -> name.equals("time") ? Component.text(seconds) : null)
+        );
+        return true;
     }
 
     @Override
-    public @NotNull <S> List<LiteralArgumentBuilder<S>> build(@NotNull Function<S, W> mapper) {
+    @SuppressWarnings("unchecked")
+    public @NotNull <S> List<LiteralArgumentBuilder<S>> build(@NotNull Function<S, W> function) {
+        var mapper = SourceMapper.of(function);
         usage = new ArrayList<>();
-        var typeAnnotation = method.getAnnotation(Sender.class);
-        var type = EnumSet.copyOf(Arrays.asList(typeAnnotation != null ? typeAnnotation.type() : SenderType.values()));
+        usageCache.clear();
+        var type = EnumSet.copyOf(Arrays.asList(this.type));
+        var path = parent.helpName() + " " + name;
+        var chain = parent.interceptors();
 
         var lists = new ArrayList<String>(1 + aliases.length);
         lists.add(name);
@@ -93,17 +318,17 @@ class MethodExecutor<W extends BetterCommandSource> implements CommandArgument<W
 
         List<RequiredArgumentBuilder<S, ?>> commandTree = new ArrayList<>();
         var valueList = new ArrayList<ContextParser<S>>();
-        var lastParameter = method.getParameters().length - 1;
+        var lastParameter = parameters.size() - 1;
         var parameterIndex = 0;
         var option = false;
-        for (Parameter parameter : method.getParameters()) {
-            var clazz = parameter.getType();
-            option = parameter.getAnnotation(Option.class) != null;
-            var vararg = parameter.getAnnotation(Vararg.class) != null;
-            var canBeNull = !option && parameter.getAnnotation(CanBeNull.class) != null;
+        for (ParameterDescriptor parameter : parameters) {
+            var clazz = parameter.type();
+            option = parameter.option();
+            var vararg = parameter.vararg();
+            var canBeNull = parameter.canBeNull();
             if ((option || vararg) && parameterIndex < lastParameter) throw new NotLastParameterException("@Option or @Vararg can work only last parameter.");
             parameterIndex++;
-            if (parameter.getType().isAssignableFrom(clazz) && parameter.getAnnotation(Source.class) != null) {
+            if (parameter.source()) {
                 valueList.add(new ContextParser<>() {
                     @Override
                     public boolean canBeNull() {
@@ -116,13 +341,15 @@ class MethodExecutor<W extends BetterCommandSource> implements CommandArgument<W
                     }
 
                     @Override
-                    public void nullMessage(@NotNull CommandContext<S> context, @NotNull String value) {
+                    public void nullMessage(@NotNull CommandContext<S> context, @NotNull String value, @Nullable CommandMessage reason) {
 
                     }
 
                     @Override
-                    public @Nullable Object parse(@NotNull CommandContext<S> context) {
-                        return mapper.apply(context.getSource());
+                    public @NotNull ParseResult<?> parse(@NotNull CommandContext<S> context) {
+                        var wrapper = mapper.apply(context.getSource());
+                        if (clazz == Audience.class) return ParseResult.success(wrapper != null ? new OutputBuffer(wrapper.audience()) : null);
+                        return ParseResult.success(wrapper);
                     }
                 });
                 continue;
@@ -131,13 +358,39 @@ class MethodExecutor<W extends BetterCommandSource> implements CommandArgument<W
             var finalClazz = ref != null ? ref : clazz;
             var serializer = root.find(finalClazz);
             if (serializer == null) throw new NotSerializerRegisteredException("A serializer for " + finalClazz.getSimpleName() + " not found.");
-            var key = parameter.getName();
-            commandTree.add(RequiredArgumentBuilder.<S, String>argument(key, vararg ? StringArgumentType.greedyString() : StringArgumentType.string())
+            var key = parameter.name();
+            //A native argument type can't read "null", so it is used only for a non-null argument.
+            var argumentType = !vararg && !canBeNull ? serializer.argumentType() : null;
+            ArgumentType<?> nodeType = argumentType != null ? argumentType : vararg ? StringArgumentType.greedyString() : StringArgumentType.string();
+            commandTree.add(RequiredArgumentBuilder.<S, Object>argument(key, (ArgumentType<Object>) nodeType)
                     .suggests((context, builder1) -> {
-                        for (String suggest : serializer.suggests(mapper.apply(context.getSource()))) {
-                            builder1.suggest(suggest);
+                        try {
+                            var prefix = builder1.getRemaining();
+                            if (prefix.startsWith("\"")) prefix = prefix.substring(1);
+                            var wrapper = mapper.apply(context.getSource());
+                            var metrics = root.metrics();
+                            var start = metrics != CommandMetrics.NOOP ? System.nanoTime() : 0;
+                            if (wrapper != null && serializer.asyncSuggests()) {
+                                var finalPrefix = prefix;
+                                return root.suggestionDispatcher.dispatch(
+                                        wrapper.identity(),
+                                        parameter,
+                                        builder1,
+                                        executor -> {
+                                            var future = serializer.suggestsAsync(wrapper, finalPrefix, root.suggestionLimit, executor);
+                                            if (metrics != CommandMetrics.NOOP) future.whenComplete((list, e) -> metrics.suggested(serializer.name(), System.nanoTime() - start));
+                                            return future;
+                                        }
+                                );
+                            }
+                            for (String suggest : serializer.suggests(wrapper, prefix, root.suggestionLimit)) {
+                                builder1.suggest(suggest);
+                            }
+                            if (metrics != CommandMetrics.NOOP) metrics.suggested(serializer.name(), System.nanoTime() - start);
+                            return builder1.buildFuture();
+                        } finally {
+                            mapper.release();
                         }
-                        return builder1.buildFuture();
                     }));
             usage.add(new UsageGetter<>(option ? serializer.optional() : serializer.required(), serializer::suggests));
             valueList.add(new ContextParser<>() {
@@ -147,94 +400,121 @@ class MethodExecutor<W extends BetterCommandSource> implements CommandArgument<W
                 }
 
                 @Override
-                public void nullMessage(@NotNull CommandContext<S> context, @NotNull String value) {
+                public void nullMessage(@NotNull CommandContext<S> context, @NotNull String value, @Nullable CommandMessage reason) {
                     var wrapper = mapper.apply(context.getSource());
                     wrapper.audience().sendMessage(
-                            root.registry.find(wrapper, serializer.nullMessage()).replaceText(TextReplacementConfig.builder()
-                                    .match(VALUE_PATTERN)
-                                    .replacement((r, b) -> Component.text(value))
-                                    .build())
+                            root.registry.template(wrapper, reason != null ? reason : serializer.nullMessage())
+                                    .render(name -> name.equals("value") ? Component.text(value) : null)
                     );
                 }
 
                 @Override
                 public @NotNull String key(@NotNull CommandContext<S> context) {
-                    return context.getArgument(key, String.class);
+                    return String.valueOf(context.getArgument(key, Object.class));
                 }
 
                 @Override
-                public @Nullable Object parse(@NotNull CommandContext<S> context) {
-                    return serializer.deserialize(mapper.apply(context.getSource()), key(context));
+                public @NotNull ParseResult<?> parse(@NotNull CommandContext<S> context) {
+                    if (argumentType != null) return ParseResult.success(context.getArgument(key, finalClazz));
+                    return serializer.parse(mapper.apply(context.getSource()), key(context));
                 }
             });
         }
         Command<S> command = context -> {
             try {
+                var wrapper = mapper.apply(context.getSource());
+                if (limited(wrapper)) return 0;
                 var array = new Object[valueList.size()];
                 var i = 0;
                 for (ContextParser<S> parser : valueList) {
-                    var value = parser.parse(context);
+                    var result = parser.parse(context);
+                    var value = result.value();
                     if (!parser.canBeNull() && value == null) {
-                        parser.nullMessage(context, parser.key(context));
+                        root.metrics().rejected(path);
+                        parser.nullMessage(context, parser.key(context), result.reason());
                         return 0;
                     }
                     array[i++] = value;
                 }
-                method.invoke(obj, array);
-            } catch (Exception e) {
+                invoke(path, wrapper, chain, array);
+            } catch (Throwable e) {
                 root.handleException(e);
                 throw new RuntimeException(e);
+            } finally {
+                mapper.release();
             }
             return 0;
         };
+        var requirement = root.requirementCache.requirement(mapper, (W wrapper) -> {
+            if (permission != null && !wrapper.hasPermission(permission)) return false;
+            return type.contains(wrapper.type());
+        });
+        Command<S> optionCommand = option ? context -> {
+            try {
+                var wrapper = mapper.apply(context.getSource());
+                if (limited(wrapper)) return 0;
+                var array = new Object[valueList.size()];
+                var i = 0;
+                for (ContextParser<S> parser : valueList.subList(0, valueList.size() - 1)) {
+                    var result = parser.parse(context);
+                    var value = result.value();
+                    if (!parser.canBeNull() && value == null) {
+                        root.metrics().rejected(path);
+                        parser.nullMessage(context, parser.key(context), result.reason());
+                        return 0;
+                    }
+                    array[i++] = value;
+                }
+                array[i] = null;
+                invoke(path, wrapper, chain, array);
+            } catch (Throwable e) {
+                root.handleException(e);
+                throw new RuntimeException(e);
+            } finally {
+                mapper.release();
+            }
+            return 0;
+        } : null;
+        //Argument tree is built once and shared by all aliases.
+        CommandNode<S> argumentNode = null;
+        if (!commandTree.isEmpty()) {
+            var treeIndex = commandTree.size() - 1;
+            commandTree.get(treeIndex).executes(command);
+            if (optionCommand != null && treeIndex > 0) commandTree.get(treeIndex - 1).executes(optionCommand);
+            for (int i = treeIndex; i > 0; i--) {
+                commandTree.get(i - 1).then(commandTree.get(i));
+            }
+            argumentNode = commandTree.get(0).build();
+        }
         List<LiteralArgumentBuilder<S>> nodes = new ArrayList<>(lists.size());
         for (String s : lists) {
             var node = LiteralArgumentBuilder.<S>literal(s)
-                    .requires(source -> {
-                        W wrapper = mapper.apply(source);
-                        if (wrapper == null) return true;
-                        if (permission != null && !wrapper.hasPermission(permission)) return false;
-                        return type.contains(wrapper.type());
-                    });
-            var treeIndex = commandTree.size() - 1;
-            if (option) {
-                var previous = treeIndex - 1 >= 0 ? commandTree.get(treeIndex - 1) : node;
-                previous.executes(context -> {
-                    try {
-                        var array = new Object[valueList.size()];
-                        var i = 0;
-                        for (ContextParser<S> parser : valueList.subList(0, valueList.size() - 1)) {
-                            var value = parser.parse(context);
-                            if (!parser.canBeNull() && value == null) {
-                                parser.nullMessage(context, parser.key(context));
-                                return 0;
-                            }
-                            array[i++] = value;
-                        }
-                        array[i] = null;
-                        method.invoke(obj, array);
-                    } catch (Exception e) {
-                        root.handleException(e);
-                        throw new RuntimeException(e);
-                    }
-                    return 0;
-                });
-            }
-            if (commandTree.isEmpty()) {
-                nodes.add(node.executes(command));
+                    .requires(requirement);
+            if (argumentNode == null) {
+                node.executes(command);
             } else {
-                commandTree.get(treeIndex).executes(command);
-                while (treeIndex >= 0) {
-                    var previous = treeIndex - 1 >= 0 ? commandTree.get(treeIndex - 1) : node;
-                    previous.then(commandTree.get(treeIndex));
-                    treeIndex--;
-                }
-                nodes.add(node);
+                if (optionCommand != null && commandTree.size() == 1) node.executes(optionCommand);
+                node.then(argumentNode);
             }
+            nodes.add(node);
         }
         return nodes;
     }
 
+    /**
+     * Compiled invoker of command method
+     */
+    @FunctionalInterface
+    interface Invoker {
+        /**
+         * Invokes command method
+         * @param args arguments
+         * @return returned value or null if method is void
+         * @throws Throwable if method throws an exception
+         */
+        @Nullable Object invoke(@NotNull Object[] args) throws Throwable;
+    }
+
     /**
      * Brigadier context parser
      * @param <T> command source type
@@ -250,8 +530,9 @@ class MethodExecutor<W extends BetterCommandSource> implements CommandArgument<W
          * Gets null argument message
          * @param context target context
          * @param value raw string
+         * @param reason failure reason or null to use serializer's null message
          */
-        void nullMessage(@NotNull CommandContext<T> context, @NotNull String value);
+        void nullMessage(@NotNull CommandContext<T> context, @NotNull String value, @Nullable CommandMessage reason);
 
         /**
          * Gets a string key of this parser
@@ -263,9 +544,9 @@ class MethodExecutor<W extends BetterCommandSource> implements CommandArgument<W
         /**
          * Parses raw string to some object
          * @param context target context
-         * @return parsed object
+         * @return parse result
          */
-        @Nullable Object parse(@NotNull CommandContext<T> context);
+        @NotNull ParseResult<?> parse(@NotNull CommandContext<T> context);
     }
 
     /**
@@ -276,6 +557,20 @@ class MethodExecutor<W extends BetterCommandSource> implements CommandArgument<W
      */
     private record UsageGetter<T>(@NotNull CommandMessage message, @NotNull Function<T, List<String>> suggests) {}
 
+    /**
+     * Key of rendered usage
+     * @param locale locale of source
+     * @param args hover text of each parameter
+     */
+    private record UsageKey(@NotNull Locale locale, @NotNull List<String> args) {}
+
+    /**
+     * Rendered usage shared by sources having the same key
+     * @param generation help generation of main class
+     * @param component usage component
+     */
+    private record RenderedUsage(long generation, @NotNull Component component) {}
+
     @Override
     public @NotNull String name() {
         return name;
@@ -298,23 +593,31 @@ class MethodExecutor<W extends BetterCommandSource> implements CommandArgument<W
 
     @Override
     public @Nullable Component usage(@NotNull W w) {
+        var usage = this.usage;
         if (usage.isEmpty()) return null;
-        var builder = Component.text();
-        var index = 0;
-        var last = usage.size() - 1;
-        for (UsageGetter<W> commandMessage : usage) {
-            var suggests = commandMessage.suggests.apply(w);
+        //Only the hover text depends on each source, so a usage is shared by sources having the same suggestions.
+        var args = new String[usage.size()];
+        for (int i = 0; i < args.length; i++) {
+            var suggests = usage.get(i).suggests.apply(w);
             var size = suggests.size();
-            String args;
             if (size <= 6) {
-                args = String.join("\n", suggests);
+                args[i] = String.join("\n", suggests);
             } else {
-                args = String.join("\n", suggests.subList(0, 6)) + "\n+" + (size - 6);
+                args[i] = String.join("\n", suggests.subList(0, 6)) + "\n+" + (size - 6);
             }
-            builder.append(root.registry.find(w, commandMessage.message)
-                    .hoverEvent(HoverEvent.showText(Component.text(args))));
-            if (index++ < last) builder.append(Component.space());
         }
-        return builder.build();
+        var generation = root.helpGeneration();
+        var key = new UsageKey(w.locale(), List.of(args));
+        var cached = usageCache.get(key);
+        if (cached != null && cached.generation == generation) return cached.component;
+        var builder = Component.text();
+        for (int i = 0; i < args.length; i++) {
+            builder.append(root.registry.find(w, usage.get(i).message)
+                    .hoverEvent(HoverEvent.showText(Component.text(args[i]))));
+            if (i < args.length - 1) builder.append(Component.space());
+        }
+        var component = builder.build();
+        if (usageCache.size() < MAX_USAGES || usageCache.containsKey(key)) usageCache.put(key, new RenderedUsage(generation, component));
+        return component;
     }
 }
@@ -0,0 +1,336 @@
+package kr.toxicity.command.impl;
+
+import kr.toxicity.command.CommandListener;
+import kr.toxicity.command.impl.descriptor.MethodInvoker;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Invokers of command method found by reflection.
+ * A public instance method is bound by LambdaMetafactory to a class calling it directly, so it can be inlined like a generated invoker.
+ * Otherwise, a spread method handle or reflection is used.
+ */
+final class MethodInvokers {
+    private MethodInvokers() {
+        throw new RuntimeException();
+    }
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final List<Class<?>> CALLS = List.of(Call0.class, Call1.class, Call2.class, Call3.class, Call4.class, Call5.class);
+    private static final List<Class<?>> RUNS = List.of(Run0.class, Run1.class, Run2.class, Run3.class, Run4.class, Run5.class);
+
+    /**
+     * Creates invoker of method
+     * @param method target method
+     * @return invoker
+     */
+    static @NotNull MethodInvoker<CommandListener> of(@NotNull Method method) {
+        var generated = generate(method);
+        if (generated != null) return generated;
+        try {
+            var handle = LOOKUP.unreflect(method);
+            if (Modifier.isStatic(method.getModifiers())) handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            var spread = handle.asSpreader(Object[].class, method.getParameterCount())
+                    .asType(MethodType.methodType(Object.class, Object.class, Object[].class));
+            return (obj, args) -> (Object) spread.invokeExact((Object) obj, args);
+        } catch (IllegalAccessException | RuntimeException e) {
+            return (obj, args) -> {
+                try {
+                    return method.invoke(obj, args);
+                } catch (InvocationTargetException ex) {
+                    throw ex.getCause();
+                }
+            };
+        }
+    }
+
+    /**
+     * Generates invoker by LambdaMetafactory
+     * @param method target method
+     * @return invoker or null if this method is unsupported
+     */
+    @SuppressWarnings("unchecked")
+    private static @Nullable MethodInvoker<CommandListener> generate(@NotNull Method method) {
+        var count = method.getParameterCount();
+        if (count >= CALLS.size() || Modifier.isStatic(method.getModifiers()) || !Modifier.isPublic(method.getModifiers())) return null;
+        var returnType = method.getReturnType();
+        if (!accessible(method.getDeclaringClass()) || !accessible(returnType)) return null;
+        var types = new Class<?>[count + 1];
+        types[0] = method.getDeclaringClass();
+        for (int i = 0; i < count; i++) {
+            var type = method.getParameterTypes()[i];
+            if (!accessible(type)) return null;
+            types[i + 1] = MethodType.methodType(type).wrap().returnType();
+        }
+        var run = returnType == void.class;
+        var erased = new Class<?>[count + 1];
+        Arrays.fill(erased, Object.class);
+        try {
+            var site = LambdaMetafactory.metafactory(
+                    LOOKUP,
+                    run ? "run" : "call",
+                    MethodType.methodType((run ? RUNS : CALLS).get(count)),
+                    MethodType.methodType(run ? void.class : Object.class, erased),
+                    LOOKUP.unreflect(method),
+                    MethodType.methodType(run ? void.class : MethodType.methodType(returnType).wrap().returnType(), types)
+            );
+            return (MethodInvoker<CommandListener>) site.getTarget().invoke();
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+    /**
+     * Checks whether a generated class can refer this type
+     * @param type target type
+     * @return whether accessible
+     */
+    private static boolean accessible(@NotNull Class<?> type) {
+        while (type.isArray()) type = type.getComponentType();
+        if (type.isPrimitive()) return true;
+        try {
+            LOOKUP.accessClass(type);
+            return Class.forName(type.getName(), false, MethodInvokers.class.getClassLoader()) == type;
+        } catch (IllegalAccessException | ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Generated invoker of method with 0 parameters
+     */
+    @FunctionalInterface
+    interface Call0 extends MethodInvoker<CommandListener> {
+        /**
+         * Calls method
+         * @param listener target listener
+         * @return returned value
+         * @throws Throwable if method throws an exception
+         */
+        Object call(Object listener) throws Throwable;
+
+        @Override
+        default Object invoke(@NotNull CommandListener listener, @NotNull Object[] args) throws Throwable {
+            return call(listener);
+        }
+    }
+
+    /**
+     * Generated invoker of method with 1 parameter
+     */
+    @FunctionalInterface
+    interface Call1 extends MethodInvoker<CommandListener> {
+        /**
+         * Calls method
+         * @param listener target listener
+         * @return returned value
+         * @throws Throwable if method throws an exception
+         */
+        Object call(Object listener, Object a0) throws Throwable;
+
+        @Override
+        default Object invoke(@NotNull CommandListener listener, @NotNull Object[] args) throws Throwable {
+            return call(listener, args[0]);
+        }
+    }
+
+    /**
+     * Generated invoker of method with 2 parameters
+     */
+    @FunctionalInterface
+    interface Call2 extends MethodInvoker<CommandListener> {
+        /**
+         * Calls method
+         * @param listener target listener
+         * @return returned value
+         * @throws Throwable if method throws an exception
+         */
+        Object call(Object listener, Object a0, Object a1) throws Throwable;
+
+        @Override
+        default Object invoke(@NotNull CommandListener listener, @NotNull Object[] args) throws Throwable {
+            return call(listener, args[0], args[1]);
+        }
+    }
+
+    /**
+     * Generated invoker of method with 3 parameters
+     */
+    @FunctionalInterface
+    interface Call3 extends MethodInvoker<CommandListener> {
+        /**
+         * Calls method
+         * @param listener target listener
+         * @return returned value
+         * @throws Throwable if method throws an exception
+         */
+        Object call(Object listener, Object a0, Object a1, Object a2) throws Throwable;
+
+        @Override
+        default Object invoke(@NotNull CommandListener listener, @NotNull Object[] args) throws Throwable {
+            return call(listener, args[0], args[1], args[2]);
+        }
+    }
+
+    /**
+     * Generated invoker of method with 4 parameters
+     */
+    @FunctionalInterface
+    interface Call4 extends MethodInvoker<CommandListener> {
+        /**
+         * Calls method
+         * @param listener target listener
+         * @return returned value
+         * @throws Throwable if method throws an exception
+         */
+        Object call(Object listener, Object a0, Object a1, Object a2, Object a3) throws Throwable;
+
+        @Override
+        default Object invoke(@NotNull CommandListener listener, @NotNull Object[] args) throws Throwable {
+            return call(listener, args[0], args[1], args[2], args[3]);
+        }
+    }
+
+    /**
+     * Generated invoker of method with 5 parameters
+     */
+    @FunctionalInterface
+    interface Call5 extends MethodInvoker<CommandListener> {
+        /**
+         * Calls method
+         * @param listener target listener
+         * @return returned value
+         * @throws Throwable if method throws an exception
+         */
+        Object call(Object listener, Object a0, Object a1, Object a2, Object a3, Object a4) throws Throwable;
+
+        @Override
+        default Object invoke(@NotNull CommandListener listener, @NotNull Object[] args) throws Throwable {
+            return call(listener, args[0], args[1], args[2], args[3], args[4]);
+        }
+    }
+
+    /**
+     * Generated invoker of void method with 0 parameters
+     */
+    @FunctionalInterface
+    interface Run0 extends MethodInvoker<CommandListener> {
+        /**
+         * Runs method
+         * @param listener target listener
+         * @throws Throwable if method throws an exception
+         */
+        void run(Object listener) throws Throwable;
+
+        @Override
+        default Object invoke(@NotNull CommandListener listener, @NotNull Object[] args) throws Throwable {
+            run(listener);
+            return null;
+        }
+    }
+
+    /**
+     * Generated invoker of void method with 1 parameter
+     */
+    @FunctionalInterface
+    interface Run1 extends MethodInvoker<CommandListener> {
+        /**
+         * Runs method
+         * @param listener target listener
+         * @throws Throwable if method throws an exception
+         */
+        void run(Object listener, Object a0) throws Throwable;
+
+        @Override
+        default Object invoke(@NotNull CommandListener listener, @NotNull Object[] args) throws Throwable {
+            run(listener, args[0]);
+            return null;
+        }
+    }
+
+    /**
+     * Generated invoker of void method with 2 parameters
+     */
+    @FunctionalInterface
+    interface Run2 extends MethodInvoker<CommandListener> {
+        /**
+         * Runs method
+         * @param listener target listener
+         * @throws Throwable if method throws an exception
+         */
+        void run(Object listener, Object a0, Object a1) throws Throwable;
+
+        @Override
+        default Object invoke(@NotNull CommandListener listener, @NotNull Object[] args) throws Throwable {
+            run(listener, args[0], args[1]);
+            return null;
+        }
+    }
+
+    /**
+     * Generated invoker of void method with 3 parameters
+     */
+    @FunctionalInterface
+    interface Run3 extends MethodInvoker<CommandListener> {
+        /**
+         * Runs method
+         * @param listener target listener
+         * @throws Throwable if method throws an exception
+         */
+        void run(Object listener, Object a0, Object a1, Object a2) throws Throwable;
+
+        @Override
+        default Object invoke(@NotNull CommandListener listener, @NotNull Object[] args) throws Throwable {
+            run(listener, args[0], args[1], args[2]);
+            return null;
+        }
+    }
+
+    /**
+     * Generated invoker of void method with 4 parameters
+     */
+    @FunctionalInterface
+    interface Run4 extends MethodInvoker<CommandListener> {
+        /**
+         * Runs method
+         * @param listener target listener
+         * @throws Throwable if method throws an exception
+         */
+        void run(Object listener, Object a0, Object a1, Object a2, Object a3) throws Throwable;
+
+        @Override
+        default Object invoke(@NotNull CommandListener listener, @NotNull Object[] args) throws Throwable {
+            run(listener, args[0], args[1], args[2], args[3]);
+            return null;
+        }
+    }
+
+    /**
+     * Generated invoker of void method with 5 parameters
+     */
+    @FunctionalInterface
+    interface Run5 extends MethodInvoker<CommandListener> {
+        /**
+         * Runs method
+         * @param listener target listener
+         * @throws Throwable if method throws an exception
+         */
+        void run(Object listener, Object a0, Object a1, Object a2, Object a3, Object a4) throws Throwable;
+
+        @Override
+        default Object invoke(@NotNull CommandListener listener, @NotNull Object[] args) throws Throwable {
+            run(listener, args[0], args[1], args[2], args[3], args[4]);
+            return null;
+        }
+    }
+}
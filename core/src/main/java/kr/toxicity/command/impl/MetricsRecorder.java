@@ -0,0 +1,138 @@
+package kr.toxicity.command.impl;
+
+import kr.toxicity.command.CommandMetrics;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An in-memory metrics which keeps striped counters and histograms of each command and serializer.
+ * Take a snapshot periodically to export it to monitoring.
+ * @see BetterCommand#metrics(CommandMetrics)
+ */
+public final class MetricsRecorder implements CommandMetrics {
+
+    private final Map<String, CommandStats> commands = new ConcurrentHashMap<>();
+    private final Map<String, SuggestionStats> suggestions = new ConcurrentHashMap<>();
+
+    @Override
+    public void executed(@NotNull String path, long nanos) {
+        var stats = command(path);
+        stats.invocations.increment();
+        stats.latency.record(nanos);
+    }
+
+    @Override
+    public void failed(@NotNull String path, long nanos, @NotNull Throwable throwable) {
+        var stats = command(path);
+        stats.invocations.increment();
+        stats.failures.increment();
+        stats.latency.record(nanos);
+    }
+
+    @Override
+    public void rejected(@NotNull String path) {
+        command(path).rejections.increment();
+    }
+
+    @Override
+    public void suggested(@NotNull String serializer, long nanos) {
+        var stats = suggestions.get(serializer);
+        if (stats == null) stats = suggestions.computeIfAbsent(serializer, s -> new SuggestionStats());
+        stats.calls.increment();
+        stats.latency.record(nanos);
+    }
+
+    /**
+     * Takes a snapshot of all commands
+     * @return snapshot sorted by command path
+     */
+    public @NotNull @Unmodifiable Map<String, CommandSnapshot> commands() {
+        var map = new TreeMap<String, CommandSnapshot>();
+        commands.forEach((path, stats) -> map.put(path, new CommandSnapshot(
+                stats.invocations.sum(),
+                stats.failures.sum(),
+                stats.rejections.sum(),
+                stats.latency.snapshot()
+        )));
+        return Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * Takes a snapshot of all serializers
+     * @return snapshot sorted by serializer name
+     */
+    public @NotNull @Unmodifiable Map<String, SuggestionSnapshot> suggestions() {
+        var map = new TreeMap<String, SuggestionSnapshot>();
+        suggestions.forEach((name, stats) -> map.put(name, new SuggestionSnapshot(
+                stats.calls.sum(),
+                stats.latency.snapshot()
+        )));
+        return Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * Clears all recorded metrics
+     */
+    public void reset() {
+        commands.clear();
+        suggestions.clear();
+    }
+
+    /**
+     * Gets stats of command
+     * @param path command path
+     * @return stats
+     */
+    private @NotNull CommandStats command(@NotNull String path) {
+        var get = commands.get(path);
+        return get != null ? get : commands.computeIfAbsent(path, p -> new CommandStats());
+    }
+
+    /**
+     * Snapshot of command
+     * @param invocations the number of invocations
+     * @param failures the number of invocations which throw an exception
+     * @param rejections the number of executions rejected by a null argument
+     * @param latency execution time
+     */
+    public record CommandSnapshot(long invocations, long failures, long rejections, @NotNull LatencyHistogram.Snapshot latency) {
+        /**
+         * Gets failure rate
+         * @return failures / invocations
+         */
+        public double failureRate() {
+            return invocations == 0 ? 0 : (double) failures / invocations;
+        }
+    }
+
+    /**
+     * Snapshot of serializer
+     * @param calls the number of suggestion calls
+     * @param latency suggestion time
+     */
+    public record SuggestionSnapshot(long calls, @NotNull LatencyHistogram.Snapshot latency) {}
+
+    /**
+     * Counters of command
+     */
+    private static final class CommandStats {
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder rejections = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+    }
+
+    /**
+     * Counters of serializer
+     */
+    private static final class SuggestionStats {
+        private final LongAdder calls = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+    }
+}
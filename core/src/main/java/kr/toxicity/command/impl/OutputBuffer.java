@@ -0,0 +1,79 @@
+package kr.toxicity.command.impl;
+
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.audience.ForwardingAudience;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.JoinConfiguration;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * An audience which collects chat messages and sends them as one newline-joined message.
+ * Other actions (title, sound, etc.) are forwarded immediately, and a message sent after flush is not buffered.
+ * A command method gets this by @Source Audience parameter, and it is flushed when the command ends.
+ * Messages sent by a message sender to the @Source wrapper during the command are also buffered,
+ * but a message sent directly to the audience of wrapper is not, as it may be cast to a platform type.
+ */
+public final class OutputBuffer implements ForwardingAudience.Single, AutoCloseable {
+
+    private final Audience audience;
+    private List<Component> messages = new ArrayList<>();
+
+    /**
+     * Creates buffer
+     * @param audience target audience
+     */
+    public OutputBuffer(@NotNull Audience audience) {
+        this.audience = Objects.requireNonNull(audience, "audience");
+    }
+
+    /**
+     * Joins messages into one message
+     * @param messages messages
+     * @return joined message
+     */
+    public static @NotNull Component join(@NotNull List<Component> messages) {
+        Objects.requireNonNull(messages, "messages");
+        if (messages.size() == 1) return messages.get(0);
+        return Component.join(JoinConfiguration.newlines(), messages);
+    }
+
+    @Override
+    public @NotNull Audience audience() {
+        return audience;
+    }
+
+    @Override
+    public void sendMessage(@NotNull Component message) {
+        Objects.requireNonNull(message, "message");
+        synchronized (this) {
+            if (messages != null) {
+                messages.add(message);
+                return;
+            }
+        }
+        audience.sendMessage(message);
+    }
+
+    /**
+     * Sends all collected messages as one message.
+     * After flush, a message is sent directly.
+     */
+    public void flush() {
+        List<Component> get;
+        synchronized (this) {
+            get = messages;
+            messages = null;
+        }
+        if (get == null || get.isEmpty()) return;
+        audience.sendMessage(join(get));
+    }
+
+    @Override
+    public void close() {
+        flush();
+    }
+}
@@ -0,0 +1,100 @@
+package kr.toxicity.command.impl;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+
+/**
+ * Outcome of deserialization.
+ * A result has either a value or a failure reason, so a parser does not have to throw on bad input.
+ * @param <T> type of value
+ */
+public final class ParseResult<T> {
+
+    private static final ParseResult<?> NULL = new ParseResult<>(true, null, null);
+    private static final ParseResult<?> FAILURE = new ParseResult<>(false, null, null);
+
+    private final boolean success;
+    private final T value;
+    private final CommandMessage reason;
+
+    /**
+     * Initializes result
+     * @param success whether success
+     * @param value parsed value
+     * @param reason failure reason
+     */
+    private ParseResult(boolean success, @Nullable T value, @Nullable CommandMessage reason) {
+        this.success = success;
+        this.value = value;
+        this.reason = reason;
+    }
+
+    /**
+     * Creates success result
+     * @param value parsed value
+     * @return result
+     * @param <T> type of value
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> @NotNull ParseResult<T> success(@Nullable T value) {
+        if (value == null) return (ParseResult<T>) NULL;
+        return new ParseResult<>(true, value, null);
+    }
+
+    /**
+     * Creates failure result which uses serializer's null message
+     * @return result
+     * @param <T> type of value
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> @NotNull ParseResult<T> failure() {
+        return (ParseResult<T>) FAILURE;
+    }
+
+    /**
+     * Creates failure result with reason.
+     * A reason message can use [value] placeholder as raw string.
+     * @param reason failure reason
+     * @return result
+     * @param <T> type of value
+     */
+    public static <T> @NotNull ParseResult<T> failure(@NotNull CommandMessage reason) {
+        return new ParseResult<>(false, null, Objects.requireNonNull(reason, "reason"));
+    }
+
+    /**
+     * Creates result from nullable value
+     * @param value parsed value or null if unavailable
+     * @return success if value is not null, otherwise failure
+     * @param <T> type of value
+     */
+    public static <T> @NotNull ParseResult<T> of(@Nullable T value) {
+        return value != null ? success(value) : failure();
+    }
+
+    /**
+     * Gets whether parsing is succeeded
+     * @return whether success
+     */
+    public boolean isSuccess() {
+        return success;
+    }
+
+    /**
+     * Gets parsed value
+     * @return value or null if failed
+     */
+    public @Nullable T value() {
+        return value;
+    }
+
+    /**
+     * Gets failure reason
+     * @return reason or null if succeeded or serializer's null message should be used
+     */
+    public @Nullable CommandMessage reason() {
+        return reason;
+    }
+}
@@ -0,0 +1,74 @@
+package kr.toxicity.command.impl;
+
+import kr.toxicity.command.impl.descriptor.RateLimitDescriptor;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A lock-free token bucket store keyed by source identity.
+ * Each bucket is a single theoretical arrival time updated by CAS (generic cell rate algorithm),
+ * and a fully refilled bucket is removed while sweeping.
+ * A swept bucket is closed by CAS before removal, so a permit is never acquired from a removed bucket.
+ */
+final class RateLimiter {
+
+    private static final long MIN_SWEEP_INTERVAL = TimeUnit.SECONDS.toNanos(30);
+    private static final long REMOVED = Long.MIN_VALUE;
+
+    private final long interval;
+    private final long tolerance;
+    private final long sweepInterval;
+    private final Map<Object, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep = new AtomicLong(System.nanoTime());
+
+    /**
+     * Creates limiter
+     * @param descriptor rate limit
+     */
+    RateLimiter(@NotNull RateLimitDescriptor descriptor) {
+        interval = Math.max(descriptor.period() / descriptor.permits(), 1);
+        tolerance = interval * (descriptor.permits() - 1);
+        sweepInterval = Math.max(descriptor.period(), MIN_SWEEP_INTERVAL);
+    }
+
+    /**
+     * Acquires a permit
+     * @param identity source identity
+     * @return 0 if acquired, otherwise time to wait (ns)
+     */
+    long acquire(@NotNull Object identity) {
+        var now = System.nanoTime();
+        sweep(now);
+        var bucket = buckets.computeIfAbsent(identity, k -> new AtomicLong(now));
+        while (true) {
+            var tat = bucket.get();
+            if (tat == REMOVED) {
+                buckets.remove(identity, bucket);
+                bucket = buckets.computeIfAbsent(identity, k -> new AtomicLong(now));
+                continue;
+            }
+            var base = tat - now > 0 ? tat : now;
+            var wait = base - now - tolerance;
+            if (wait > 0) return wait;
+            if (bucket.compareAndSet(tat, base + interval)) return 0;
+        }
+    }
+
+    /**
+     * Removes all idle buckets if sweep interval has passed
+     * @param now current time (ns)
+     */
+    private void sweep(long now) {
+        var last = lastSweep.get();
+        if (now - last < sweepInterval || !lastSweep.compareAndSet(last, now)) return;
+        for (Map.Entry<Object, AtomicLong> entry : buckets.entrySet()) {
+            var bucket = entry.getValue();
+            var tat = bucket.get();
+            if (tat != REMOVED && tat - now <= 0 && bucket.compareAndSet(tat, REMOVED)) buckets.remove(entry.getKey(), bucket);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package kr.toxicity.command.impl;
+
+import kr.toxicity.command.BetterCommandSource;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * A per-source cache of node requirements.
+ * Each requirement has a dense id, and results of each source identity are kept as bits until invalidated or the identity is collected.
+ * An identity is compared by reference, and a lookup takes no global lock.
+ */
+final class RequirementCache {
+
+    private final WeakIdentityMap<Object, Entry> map = new WeakIdentityMap<>();
+    private final AtomicInteger ids = new AtomicInteger();
+
+    private volatile boolean enabled;
+
+    /**
+     * Sets whether to cache
+     * @param enabled whether to cache
+     */
+    void enabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) invalidateAll();
+    }
+
+    /**
+     * Creates a cached requirement.
+     * A requirement is also tested out of dispatch, so a source is mapped without being memoized.
+     * @param mapper source mapper
+     * @param predicate original requirement
+     * @return requirement
+     * @param <S> platform-side command source
+     * @param <W> wrapper class of command source
+     */
+    <S, W extends BetterCommandSource> @NotNull Predicate<S> requirement(@NotNull SourceMapper<S, W> mapper, @NotNull Predicate<W> predicate) {
+        var id = ids.getAndIncrement();
+        return source -> {
+            W wrapper = mapper.applyTransient(source);
+            if (wrapper == null) return true;
+            if (!enabled) return predicate.test(wrapper);
+            return test(id, wrapper, predicate);
+        };
+    }
+
+    /**
+     * Tests requirement by cache
+     * @param id requirement id
+     * @param wrapper command source
+     * @param predicate original requirement
+     * @return result
+     * @param <W> wrapper class of command source
+     */
+    private <W extends BetterCommandSource> boolean test(int id, @NotNull W wrapper, @NotNull Predicate<W> predicate) {
+        var entry = map.computeIfAbsent(wrapper.identity(), k -> new Entry());
+        var cached = entry.get(id);
+        if (cached != null) return cached;
+        var result = predicate.test(wrapper);
+        entry.set(id, result);
+        return result;
+    }
+
+    /**
+     * Invalidates all cached results of this source identity
+     * @param identity source identity
+     */
+    void invalidate(@NotNull Object identity) {
+        map.remove(identity);
+    }
+
+    /**
+     * Invalidates all cached results
+     */
+    void invalidateAll() {
+        map.clear();
+    }
+
+    /**
+     * Cached results of some source
+     */
+    private static final class Entry {
+        private final BitSet known = new BitSet();
+        private final BitSet value = new BitSet();
+
+        /**
+         * Gets cached result
+         * @param id requirement id
+         * @return result or null if not cached
+         */
+        private synchronized @Nullable Boolean get(int id) {
+            return known.get(id) ? value.get(id) : null;
+        }
+
+        /**
+         * Sets result
+         * @param id requirement id
+         * @param result result
+         */
+        private synchronized void set(int id, boolean result) {
+            known.set(id);
+            value.set(id, result);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package kr.toxicity.command.impl;
+
+import kr.toxicity.command.BetterCommandSource;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * A memoized mapper of platform-side command source.
+ * The last mapped source of each thread is reused until the dispatch ends, so one dispatch maps its source only once.
+ * A requirement is also tested out of dispatch (e.g. command tree sync or failed parse), so it uses {@link #applyTransient(Object)} which never pins a wrapper.
+ * @param <S> platform-side command source (normally it is a CommandSourceStack)
+ * @param <W> wrapper class of command source
+ */
+public final class SourceMapper<S, W extends BetterCommandSource> implements Function<S, W> {
+
+    private final Function<S, W> mapper;
+    private final ThreadLocal<Entry<S, W>> last = new ThreadLocal<>();
+
+    /**
+     * Initializes mapper
+     * @param mapper original mapper
+     */
+    private SourceMapper(@NotNull Function<S, W> mapper) {
+        this.mapper = Objects.requireNonNull(mapper, "mapper");
+    }
+
+    /**
+     * Creates a mapper which maps each source once per dispatch
+     * @param mapper original mapper
+     * @return memoized mapper or itself if it is already memoized
+     * @param <S> platform-side command source
+     * @param <W> wrapper class of command source
+     */
+    public static <S, W extends BetterCommandSource> @NotNull SourceMapper<S, W> of(@NotNull Function<S, W> mapper) {
+        if (mapper instanceof SourceMapper<S, W> sourceMapper) return sourceMapper;
+        return new SourceMapper<>(mapper);
+    }
+
+    @Override
+    public @Nullable W apply(@NotNull S source) {
+        var entry = last.get();
+        if (entry != null && entry.source == source) return entry.wrapper;
+        var wrapper = mapper.apply(source);
+        if (wrapper != null) last.set(new Entry<>(source, wrapper));
+        return wrapper;
+    }
+
+    /**
+     * Maps a source without keeping it as the last mapped source.
+     * The memoized wrapper is still reused if a dispatch of this source is in progress.
+     * @param source platform-side source
+     * @return wrapper
+     */
+    @Nullable W applyTransient(@NotNull S source) {
+        var entry = last.get();
+        if (entry != null && entry.source == source) return entry.wrapper;
+        return mapper.apply(source);
+    }
+
+    /**
+     * Releases the last mapped source of current thread.
+     * It is called when an execution or suggestion ends.
+     */
+    public void release() {
+        last.remove();
+    }
+
+    /**
+     * Last mapped source of thread
+     * @param source platform-side source
+     * @param wrapper wrapper
+     * @param <S> platform-side command source
+     * @param <W> wrapper class of command source
+     */
+    private record Entry<S, W>(@NotNull S source, @NotNull W wrapper) {}
+}
@@ -0,0 +1,259 @@
+package kr.toxicity.command.impl;
+
+import kr.toxicity.command.BetterCommandSource;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A TTL and size bounded cache of suggestions.
+ * Each list is keyed by its serializer and a partition key of source, so a cache can be shared by many serializers.
+ * A lookup takes no lock, and only one thread evicts the least recently used entries at once, so the size can exceed its bound briefly.
+ * @see ClassSerializer#cached(SuggestionCache)
+ */
+public final class SuggestionCache {
+
+    private final long ttl;
+    private final int maximumSize;
+    private final Function<BetterCommandSource, ?> partition;
+    private final Map<Key, Node> map = new ConcurrentHashMap<>();
+    private final ReentrantLock evictLock = new ReentrantLock();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Initializes cache
+     * @param ttl time to live (ns)
+     * @param maximumSize max size of entries
+     * @param partition partition key mapper
+     */
+    private SuggestionCache(long ttl, int maximumSize, @NotNull Function<BetterCommandSource, ?> partition) {
+        this.ttl = ttl;
+        this.maximumSize = maximumSize;
+        this.partition = partition;
+    }
+
+    /**
+     * Creates builder of cache
+     * @return builder
+     */
+    public static @NotNull Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Gets cached suggestions or computes them
+     * @param serializer target serializer
+     * @param source command source
+     * @param supplier original suggestions
+     * @return cached entry
+     */
+    @NotNull Entry get(@NotNull ClassSerializer<?> serializer, @NotNull BetterCommandSource source, @NotNull Supplier<List<String>> supplier) {
+        var get = getIfPresent(serializer, source);
+        if (get != null) return get;
+        return put(serializer, source, supplier.get());
+    }
+
+    /**
+     * Gets cached suggestions if not expired
+     * @param serializer target serializer
+     * @param source command source
+     * @return cached entry or null if absent or expired
+     */
+    @Nullable Entry getIfPresent(@NotNull ClassSerializer<?> serializer, @NotNull BetterCommandSource source) {
+        var key = new Key(serializer, partition.apply(source));
+        var now = System.nanoTime();
+        var get = map.get(key);
+        if (get != null) {
+            if (now - get.entry.created < ttl) {
+                get.accessed = now;
+                hits.increment();
+                return get.entry;
+            }
+            map.remove(key, get);
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Caches suggestions
+     * @param serializer target serializer
+     * @param source command source
+     * @param values original suggestions
+     * @return cached entry
+     */
+    @NotNull Entry put(@NotNull ClassSerializer<?> serializer, @NotNull BetterCommandSource source, @NotNull List<String> values) {
+        var key = new Key(serializer, partition.apply(source));
+        var list = List.copyOf(values);
+        var entry = new Entry(list, SuggestionIndex.of(list), System.nanoTime());
+        map.put(key, new Node(entry));
+        if (map.size() > maximumSize) evict();
+        return entry;
+    }
+
+    /**
+     * Removes expired entries, and then the least recently used entries until the size is bounded.
+     * It is skipped if another thread is evicting.
+     */
+    private void evict() {
+        if (!evictLock.tryLock()) return;
+        try {
+            var now = System.nanoTime();
+            map.values().removeIf(node -> now - node.entry.created >= ttl);
+            var excess = map.size() - maximumSize;
+            if (excess <= 0) return;
+            //Keeps the least recently used entries by a max-heap of access time.
+            var eldest = new PriorityQueue<Map.Entry<Key, Node>>(excess + 1, Comparator.comparingLong((Map.Entry<Key, Node> e) -> e.getValue().accessed).reversed());
+            for (Map.Entry<Key, Node> e : map.entrySet()) {
+                eldest.add(e);
+                if (eldest.size() > excess) eldest.poll();
+            }
+            for (Map.Entry<Key, Node> e : eldest) {
+                if (map.remove(e.getKey(), e.getValue())) evictions.increment();
+            }
+        } finally {
+            evictLock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of cache hits
+     * @return hit count
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of cache misses
+     * @return miss count
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * Gets the number of entries evicted by size
+     * @return eviction count
+     */
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Gets the number of cached entries
+     * @return size
+     */
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * Clears all cached suggestions
+     */
+    public void clear() {
+        map.clear();
+    }
+
+    /**
+     * Cached suggestions
+     * @param values original suggestions
+     * @param index indexed suggestions
+     * @param created created time (ns)
+     */
+    record Entry(@NotNull @Unmodifiable List<String> values, @NotNull SuggestionIndex index, long created) {}
+
+    /**
+     * Cached entry with its last access time
+     */
+    private static final class Node {
+        private final Entry entry;
+        private volatile long accessed;
+
+        /**
+         * Creates node
+         * @param entry cached entry
+         */
+        private Node(@NotNull Entry entry) {
+            this.entry = entry;
+            accessed = entry.created;
+        }
+    }
+
+    /**
+     * Cache key
+     * @param serializer serializer
+     * @param partition partition key of source
+     */
+    private record Key(@NotNull ClassSerializer<?> serializer, Object partition) {}
+
+    /**
+     * Builder of SuggestionCache
+     */
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class Builder {
+        private long ttl = TimeUnit.SECONDS.toNanos(5);
+        private int maximumSize = 1024;
+        private Function<BetterCommandSource, ?> partition = BetterCommandSource::identity;
+
+        /**
+         * Sets time to live
+         * @param ttl time to live
+         * @param unit time unit
+         * @return self
+         */
+        public @NotNull Builder ttl(long ttl, @NotNull TimeUnit unit) {
+            Objects.requireNonNull(unit, "unit");
+            if (ttl <= 0) throw new IllegalArgumentException("ttl must be positive.");
+            this.ttl = unit.toNanos(ttl);
+            return this;
+        }
+
+        /**
+         * Sets max size of entries. the least recently used entry is evicted first.
+         * @param maximumSize max size
+         * @return self
+         */
+        public @NotNull Builder maximumSize(int maximumSize) {
+            if (maximumSize <= 0) throw new IllegalArgumentException("maximumSize must be positive.");
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * Sets partition key of source (default: identity of source).
+         * A wider partition (e.g. locale) shares suggestions between sources, so use it only if suggestions don't depend on each source.
+         * @param partition partition key mapper
+         * @return self
+         */
+        public @NotNull Builder partition(@NotNull Function<BetterCommandSource, ?> partition) {
+            this.partition = Objects.requireNonNull(partition, "partition");
+            return this;
+        }
+
+        /**
+         * Builds cache
+         * @return cache
+         */
+        public @NotNull SuggestionCache build() {
+            return new SuggestionCache(ttl, maximumSize, partition);
+        }
+    }
+}
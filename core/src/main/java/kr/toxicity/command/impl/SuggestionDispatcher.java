@@ -0,0 +1,106 @@
+package kr.toxicity.command.impl;
+
+import com.mojang.brigadier.suggestion.Suggestions;
+import com.mojang.brigadier.suggestion.SuggestionsBuilder;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.Function;
+
+/**
+ * A dispatcher of asynchronous suggestions.
+ * A newer request of same source and argument replaces the in-flight one, so a stale lookup is skipped or answered empty.
+ */
+final class SuggestionDispatcher {
+
+    private final BetterCommand root;
+    private final Map<Key, CompletableFuture<List<String>>> inFlight = new ConcurrentHashMap<>();
+
+    private volatile Executor executor;
+    private volatile long timeout = 1000;
+
+    /**
+     * Creates dispatcher
+     * @param root main class
+     */
+    SuggestionDispatcher(@NotNull BetterCommand root) {
+        this.root = root;
+    }
+
+    /**
+     * Sets executor
+     * @param executor executor or null to use default executor
+     */
+    void executor(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Sets timeout
+     * @param timeout timeout (ms)
+     */
+    void timeout(long timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * Dispatches suggestion
+     * @param identity source identity
+     * @param node argument node
+     * @param builder suggestions builder
+     * @param supplier asynchronous suggestion with guarded executor
+     * @return suggestions
+     */
+    @NotNull CompletableFuture<Suggestions> dispatch(
+            @NotNull Object identity,
+            @NotNull Object node,
+            @NotNull SuggestionsBuilder builder,
+            @NotNull Function<Executor, CompletableFuture<List<String>>> supplier
+    ) {
+        var key = new Key(identity, node);
+        var result = new CompletableFuture<List<String>>();
+        var previous = inFlight.put(key, result);
+        if (previous != null) previous.complete(List.of());
+        result.whenComplete((list, e) -> inFlight.remove(key, result));
+        var executor = executor();
+        try {
+            supplier.apply(task -> executor.execute(() -> {
+                if (!result.isDone()) task.run();
+            })).whenComplete((list, e) -> {
+                if (e != null) result.completeExceptionally(e);
+                else result.complete(list);
+            });
+        } catch (Exception e) {
+            result.completeExceptionally(e);
+        }
+        return result.completeOnTimeout(List.of(), timeout, TimeUnit.MILLISECONDS).handle((list, e) -> {
+            if (e != null) {
+                var cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                if (!(cause instanceof CancellationException)) root.handleException(cause);
+                return builder.build();
+            }
+            for (String suggest : list) {
+                builder.suggest(suggest);
+            }
+            return builder.build();
+        });
+    }
+
+    /**
+     * Gets executor
+     * @return executor
+     */
+    private @NotNull Executor executor() {
+        var get = executor;
+        return get != null ? get : DefaultExecutor.EXECUTOR;
+    }
+
+    /**
+     * In-flight request key
+     * @param identity source identity
+     * @param node argument node
+     */
+    private record Key(@NotNull Object identity, @NotNull Object node) {}
+}
@@ -0,0 +1,115 @@
+package kr.toxicity.command.impl;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.*;
+
+/**
+ * An immutable sorted index of suggestions.
+ * Finding by prefix costs a binary search and the number of matches, not the size of all candidates.
+ * Build it once and keep it in a serializer, then rebuild only when candidates are changed.
+ */
+public final class SuggestionIndex {
+
+    private static final SuggestionIndex EMPTY = new SuggestionIndex(new String[0], new String[0]);
+
+    private final String[] keys;
+    private final String[] values;
+    private final List<String> list;
+
+    /**
+     * Initializes index
+     * @param keys sorted lower case keys
+     * @param values original values in same order as keys
+     */
+    private SuggestionIndex(@NotNull String[] keys, @NotNull String[] values) {
+        this.keys = keys;
+        this.values = values;
+        list = Collections.unmodifiableList(Arrays.asList(values));
+    }
+
+    /**
+     * Gets empty index
+     * @return empty index
+     */
+    public static @NotNull SuggestionIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Creates index
+     * @param candidates all suggestions
+     * @return index
+     */
+    public static @NotNull SuggestionIndex of(@NotNull Collection<String> candidates) {
+        Objects.requireNonNull(candidates, "candidates");
+        if (candidates.isEmpty()) return EMPTY;
+        var values = candidates.toArray(String[]::new);
+        Arrays.sort(values, Comparator.comparing(SuggestionIndex::key));
+        var keys = new String[values.length];
+        for (int i = 0; i < values.length; i++) {
+            keys[i] = key(values[i]);
+        }
+        return new SuggestionIndex(keys, values);
+    }
+
+    /**
+     * Finds all suggestions starting with this prefix, ignoring case
+     * @param prefix typed prefix
+     * @param limit max size of result
+     * @return matched suggestions in sorted order
+     */
+    public @NotNull @Unmodifiable List<String> find(@NotNull String prefix, int limit) {
+        var key = key(prefix);
+        var index = lowerBound(key);
+        var end = index;
+        var max = Math.min(keys.length, index + Math.max(limit, 0));
+        while (end < max && keys[end].startsWith(key)) end++;
+        if (end == index) return Collections.emptyList();
+        if (index == 0 && end == values.length) return list;
+        return list.subList(index, end);
+    }
+
+    /**
+     * Finds the first index whose key is not less than this key.
+     * Unlike binary search of Arrays, it is the first one among equal keys.
+     * @param key search key
+     * @return index
+     */
+    private int lowerBound(@NotNull String key) {
+        var low = 0;
+        var high = keys.length;
+        while (low < high) {
+            var mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(key) < 0) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    /**
+     * Gets all suggestions in sorted order
+     * @return all suggestions
+     */
+    public @NotNull @Unmodifiable List<String> values() {
+        return list;
+    }
+
+    /**
+     * Gets the number of suggestions
+     * @return size
+     */
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * Gets a search key of suggestion
+     * @param value suggestion
+     * @return lower case key
+     */
+    private static @NotNull String key(@NotNull String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+}
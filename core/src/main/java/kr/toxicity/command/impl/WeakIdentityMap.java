@@ -0,0 +1,103 @@
+package kr.toxicity.command.impl;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * A concurrent map which compares keys by identity and holds them weakly.
+ * An entry is removed after its key is collected.
+ * @param <K> key
+ * @param <V> value
+ */
+final class WeakIdentityMap<K, V> {
+
+    private final Map<Key<K>, V> map = new ConcurrentHashMap<>();
+    private final ReferenceQueue<K> queue = new ReferenceQueue<>();
+
+    /**
+     * Gets value of key
+     * @param key target key
+     * @return value or null if not exists
+     */
+    @Nullable V get(@NotNull K key) {
+        expunge();
+        return map.get(new Key<>(key, null));
+    }
+
+    /**
+     * Gets value of key or computes it if absent
+     * @param key target key
+     * @param function value mapper (null value is not stored)
+     * @return value
+     */
+    @Nullable V computeIfAbsent(@NotNull K key, @NotNull Function<? super K, ? extends V> function) {
+        var get = get(key);
+        if (get != null) return get;
+        return map.computeIfAbsent(new Key<>(key, queue), k -> function.apply(key));
+    }
+
+    /**
+     * Removes value of key
+     * @param key target key
+     */
+    void remove(@NotNull K key) {
+        expunge();
+        map.remove(new Key<>(key, null));
+    }
+
+    /**
+     * Removes all values
+     */
+    void clear() {
+        map.clear();
+        expunge();
+    }
+
+    /**
+     * Removes entries of collected keys
+     */
+    private void expunge() {
+        Reference<? extends K> reference;
+        while ((reference = queue.poll()) != null) {
+            map.remove(reference);
+        }
+    }
+
+    /**
+     * Weak key compared by identity
+     * @param <K> key
+     */
+    private static final class Key<K> extends WeakReference<K> {
+        private final int hash;
+
+        /**
+         * Creates key
+         * @param referent key
+         * @param queue reference queue or null if it is used only for lookup
+         */
+        private Key(@NotNull K referent, @Nullable ReferenceQueue<K> queue) {
+            super(referent, queue);
+            hash = System.identityHashCode(referent);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key<?> key)) return false;
+            var get = get();
+            return get != null && get == key.get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
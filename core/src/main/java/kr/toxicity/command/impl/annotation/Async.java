@@ -0,0 +1,16 @@
+package kr.toxicity.command.impl.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * This command runs on command executor instead of dispatching thread.
+ * If a listener class is annotated, all commands of this class run asynchronously.
+ * @see kr.toxicity.command.impl.BetterCommand#commandExecutor(java.util.concurrent.Executor)
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface Async {
+}
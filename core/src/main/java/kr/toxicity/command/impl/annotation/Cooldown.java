@@ -0,0 +1,27 @@
+package kr.toxicity.command.impl.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This command can be used once per cooldown by each source.
+ * It is ignored if @RateLimit is present.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Cooldown {
+    /**
+     * Gets cooldown
+     * @return cooldown
+     */
+    long value();
+
+    /**
+     * Gets time unit of cooldown
+     * @return time unit
+     */
+    TimeUnit unit() default TimeUnit.SECONDS;
+}
@@ -0,0 +1,33 @@
+package kr.toxicity.command.impl.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This command can be used some times per period by each source.
+ * Permits are refilled evenly over the period, so a source can burst up to permits at once.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface RateLimit {
+    /**
+     * Gets max permits in period
+     * @return permits
+     */
+    int permits();
+
+    /**
+     * Gets period
+     * @return period
+     */
+    long period();
+
+    /**
+     * Gets time unit of period
+     * @return time unit
+     */
+    TimeUnit unit() default TimeUnit.SECONDS;
+}
@@ -6,7 +6,10 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
 /**
- * This parameter is command source of command
+ * This parameter is command source of command.
+ * If the type of parameter is Audience, an output buffer of source is given instead,
+ * and all messages sent to it are flushed as one message when the command ends.
+ * @see kr.toxicity.command.impl.OutputBuffer
  */
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.PARAMETER)
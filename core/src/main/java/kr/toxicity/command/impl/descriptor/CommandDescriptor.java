@@ -0,0 +1,48 @@
+package kr.toxicity.command.impl.descriptor;
+
+import kr.toxicity.command.CommandListener;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.List;
+
+/**
+ * Compile-time generated descriptor of command listener
+ * @param <L> listener class
+ */
+public interface CommandDescriptor<L extends CommandListener> {
+
+    /**
+     * Suffix of generated descriptor class
+     */
+    String SUFFIX = "_CommandDescriptor";
+
+    /**
+     * Gets all command methods of listener
+     * @return all command methods
+     */
+    @NotNull @Unmodifiable List<MethodDescriptor<L>> methods();
+
+    /**
+     * Gets a generated class name of listener
+     * @param binaryName binary name of listener class
+     * @return generated class name
+     */
+    static @NotNull String descriptorName(@NotNull String binaryName) {
+        var index = binaryName.lastIndexOf('.');
+        return binaryName.substring(0, index + 1) + binaryName.substring(index + 1).replace('$', '_') + SUFFIX;
+    }
+
+    /**
+     * Finds generated descriptor of listener class
+     * @param clazz listener class
+     * @return descriptor or null if not generated
+     * @param <L> listener class
+     */
+    @SuppressWarnings("unchecked")
+    static <L extends CommandListener> @Nullable CommandDescriptor<L> find(@NotNull Class<? extends L> clazz) {
+        return (CommandDescriptor<L>) DescriptorCache.CACHE.get(clazz).orElse(null);
+    }
+}
+
@@ -0,0 +1,27 @@
+package kr.toxicity.command.impl.descriptor;
+
+import java.util.Optional;
+
+/**
+ * Cache of generated descriptor
+ */
+final class DescriptorCache {
+    private DescriptorCache() {
+        throw new RuntimeException();
+    }
+
+    static final ClassValue<Optional<CommandDescriptor<?>>> CACHE = new ClassValue<>() {
+        @Override
+        protected Optional<CommandDescriptor<?>> computeValue(Class<?> type) {
+            try {
+                var clazz = Class.forName(CommandDescriptor.descriptorName(type.getName()), true, type.getClassLoader());
+                if (!CommandDescriptor.class.isAssignableFrom(clazz)) return Optional.empty();
+                return Optional.of((CommandDescriptor<?>) clazz.getDeclaredConstructor().newInstance());
+            } catch (ClassNotFoundException e) {
+                return Optional.empty();
+            } catch (ReflectiveOperationException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    };
+}
@@ -0,0 +1,59 @@
+package kr.toxicity.command.impl.descriptor;
+
+import kr.toxicity.command.CommandListener;
+import kr.toxicity.command.SenderType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Pre-resolved metadata of command method
+ * @param name command name
+ * @param descriptionKey translatable key of description
+ * @param descriptionDefault default description
+ * @param permission permission or null if not set
+ * @param aliases command aliases
+ * @param type all applicable type
+ * @param async whether to run on command executor
+ * @param rateLimit rate limit or null if not set
+ * @param parameters parameters
+ * @param invoker method invoker
+ * @param <L> listener class
+ */
+public record MethodDescriptor<L extends CommandListener>(
+        @NotNull String name,
+        @NotNull String descriptionKey,
+        @NotNull String descriptionDefault,
+        @Nullable String permission,
+        @NotNull String[] aliases,
+        @NotNull SenderType[] type,
+        boolean async,
+        @Nullable RateLimitDescriptor rateLimit,
+        @NotNull List<ParameterDescriptor> parameters,
+        @NotNull MethodInvoker<L> invoker
+) {
+    /**
+     * Creates method descriptor
+     * @param name command name
+     * @param descriptionKey translatable key of description
+     * @param descriptionDefault default description
+     * @param permission permission or null if not set
+     * @param aliases command aliases
+     * @param type all applicable type
+     * @param async whether to run on command executor
+     * @param rateLimit rate limit or null if not set
+     * @param parameters parameters
+     * @param invoker method invoker
+     */
+    public MethodDescriptor {
+        Objects.requireNonNull(name, "name");
+        Objects.requireNonNull(descriptionKey, "descriptionKey");
+        Objects.requireNonNull(descriptionDefault, "descriptionDefault");
+        Objects.requireNonNull(aliases, "aliases");
+        Objects.requireNonNull(type, "type");
+        Objects.requireNonNull(parameters, "parameters");
+        Objects.requireNonNull(invoker, "invoker");
+    }
+}
@@ -0,0 +1,21 @@
+package kr.toxicity.command.impl.descriptor;
+
+import kr.toxicity.command.CommandListener;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Typed invoker of command method
+ * @param <L> listener class
+ */
+@FunctionalInterface
+public interface MethodInvoker<L extends CommandListener> {
+    /**
+     * Invokes command method
+     * @param listener target listener
+     * @param args arguments
+     * @return returned value or null if method is void
+     * @throws Throwable if method throws an exception
+     */
+    @Nullable Object invoke(@NotNull L listener, @NotNull Object[] args) throws Throwable;
+}
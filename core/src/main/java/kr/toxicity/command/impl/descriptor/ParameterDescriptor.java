@@ -0,0 +1,37 @@
+package kr.toxicity.command.impl.descriptor;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * Pre-resolved metadata of command parameter
+ * @param name parameter name
+ * @param type parameter type
+ * @param source whether this parameter is annotated by @Source
+ * @param option whether this parameter is annotated by @Option
+ * @param vararg whether this parameter is annotated by @Vararg
+ * @param canBeNull whether this parameter is annotated by @CanBeNull
+ */
+public record ParameterDescriptor(
+        @NotNull String name,
+        @NotNull Class<?> type,
+        boolean source,
+        boolean option,
+        boolean vararg,
+        boolean canBeNull
+) {
+    /**
+     * Creates parameter descriptor
+     * @param name parameter name
+     * @param type parameter type
+     * @param source whether this parameter is annotated by @Source
+     * @param option whether this parameter is annotated by @Option
+     * @param vararg whether this parameter is annotated by @Vararg
+     * @param canBeNull whether this parameter is annotated by @CanBeNull
+     */
+    public ParameterDescriptor {
+        Objects.requireNonNull(name, "name");
+        Objects.requireNonNull(type, "type");
+    }
+}
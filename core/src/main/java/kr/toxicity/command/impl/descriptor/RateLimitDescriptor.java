@@ -0,0 +1,18 @@
+package kr.toxicity.command.impl.descriptor;
+
+/**
+ * Pre-resolved rate limit of command method
+ * @param permits max permits in period
+ * @param period period (ns)
+ */
+public record RateLimitDescriptor(int permits, long period) {
+    /**
+     * Creates rate limit descriptor
+     * @param permits max permits in period
+     * @param period period (ns)
+     */
+    public RateLimitDescriptor {
+        if (permits <= 0) throw new IllegalArgumentException("permits must be positive.");
+        if (period <= 0) throw new IllegalArgumentException("period must be positive.");
+    }
+}
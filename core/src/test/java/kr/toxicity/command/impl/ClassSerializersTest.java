@@ -0,0 +1,94 @@
+package kr.toxicity.command.impl;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClassSerializersTest {
+
+    private final TestSource source = new TestSource("test");
+
+    @Test
+    void parsesIntegers() {
+        assertEquals(Integer.valueOf(0), ClassSerializers.INTEGER.parse(source, "0").value());
+        assertEquals(Integer.valueOf(42), ClassSerializers.INTEGER.parse(source, "+42").value());
+        assertEquals(Integer.valueOf(-42), ClassSerializers.INTEGER.parse(source, "-42").value());
+        assertEquals(Integer.valueOf(Integer.MAX_VALUE), ClassSerializers.INTEGER.parse(source, "2147483647").value());
+        assertEquals(Integer.valueOf(Integer.MIN_VALUE), ClassSerializers.INTEGER.parse(source, "-2147483648").value());
+        assertEquals(Long.valueOf(Long.MIN_VALUE), ClassSerializers.LONG.parse(source, "-9223372036854775808").value());
+        assertEquals(Short.valueOf((short) -32768), ClassSerializers.SHORT.parse(source, "-32768").value());
+        assertEquals(Byte.valueOf((byte) 127), ClassSerializers.BYTE.parse(source, "127").value());
+    }
+
+    @Test
+    void acceptsSameIntegersAsJdk() {
+        for (String raw : new String[] {"007", "-0", "+0", "١٢٣", "12a", "", "-", "+", " 1", "1 ", "0x10", "1_000", "--1"}) {
+            Long expected;
+            try {
+                expected = Long.parseLong(raw);
+            } catch (NumberFormatException e) {
+                expected = null;
+            }
+            var result = ClassSerializers.LONG.parse(source, raw);
+            assertEquals(expected != null, result.isSuccess(), raw);
+            assertEquals(expected, result.value(), raw);
+        }
+    }
+
+    @Test
+    void reportsOutOfRange() {
+        for (String raw : new String[] {"2147483648", "-2147483649", "99999999999999999999"}) {
+            var result = ClassSerializers.INTEGER.parse(source, raw);
+            assertFalse(result.isSuccess(), raw);
+            assertEquals(ClassSerializers.OUT_OF_RANGE, result.reason(), raw);
+        }
+        assertEquals(ClassSerializers.OUT_OF_RANGE, ClassSerializers.BYTE.parse(source, "128").reason());
+        assertEquals(ClassSerializers.OUT_OF_RANGE, ClassSerializers.LONG.parse(source, "9223372036854775808").reason());
+    }
+
+    @Test
+    void parsesNullAsNull() {
+        for (var serializer : new ClassSerializer<?>[] {ClassSerializers.INTEGER, ClassSerializers.LONG, ClassSerializers.DOUBLE, ClassSerializers.FLOAT}) {
+            var result = serializer.parse(source, "null");
+            assertTrue(result.isSuccess());
+            assertNull(result.value());
+        }
+    }
+
+    @Test
+    void acceptsSameDecimalsAsJdk() {
+        var raws = new String[] {
+                "0", "1.5", "-1.5", "+.5", "1.", "1e3", "1E-3", "-2.5e+10", "1d", "1.5F", "Infinity", "-Infinity", "NaN",
+                "0x1p3", "-0X1.8P1", "0x10", " 1.5", "1.5 ", "\t2\n",
+                "", ".", "e3", "1e", "1.5.5", "1,5", "abc", "infinity", "0x", "0xg", "1ee3", "- 1"
+        };
+        for (String raw : raws) {
+            Double expected;
+            try {
+                expected = Double.parseDouble(raw);
+            } catch (NumberFormatException e) {
+                expected = null;
+            }
+            var result = ClassSerializers.DOUBLE.parse(source, raw);
+            assertEquals(expected != null, result.isSuccess(), raw);
+            assertEquals(expected, result.value(), raw);
+            Float expectedFloat;
+            try {
+                expectedFloat = Float.parseFloat(raw);
+            } catch (NumberFormatException e) {
+                expectedFloat = null;
+            }
+            assertEquals(expectedFloat, ClassSerializers.FLOAT.parse(source, raw).value(), raw);
+        }
+    }
+
+    @Test
+    void parsesCharactersAndBooleans() {
+        assertEquals(Character.valueOf('a'), ClassSerializers.CHARACTER.parse(source, "a").value());
+        assertEquals(Character.valueOf('가'), ClassSerializers.CHARACTER.parse(source, "가").value());
+        assertFalse(ClassSerializers.CHARACTER.parse(source, "ab").isSuccess());
+        assertEquals(Boolean.TRUE, ClassSerializers.BOOLEAN.parse(source, "TRUE").value());
+        assertEquals(Boolean.FALSE, ClassSerializers.BOOLEAN.parse(source, "false").value());
+        assertFalse(ClassSerializers.BOOLEAN.parse(source, "yes").isSuccess());
+    }
+}
@@ -0,0 +1,72 @@
+package kr.toxicity.command.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LangBundleTest {
+
+    @Test
+    void readsWrittenBundle() throws IOException {
+        var folder = Files.createTempDirectory("bundle");
+        var source = Files.writeString(folder.resolve("en_us.json"), "{\"a\":\"b\"}");
+        var bundle = folder.resolve("en_us.bin").toFile();
+        var map = new LinkedHashMap<String, String>();
+        map.put("a", "b");
+        map.put("한글", "<red>값</red>");
+        write(bundle, source, map);
+        assertEquals(map, LangBundle.read(bundle, source.toFile()));
+        //A mapped bundle is released after read, so it can be replaced.
+        write(bundle, source, Map.of("a", "c"));
+        assertEquals(Map.of("a", "c"), LangBundle.read(bundle, source.toFile()));
+    }
+
+    @Test
+    void ignoresStaleBundle() throws IOException {
+        var folder = Files.createTempDirectory("bundle");
+        var source = Files.writeString(folder.resolve("en_us.json"), "{\"a\":\"b\"}");
+        var bundle = folder.resolve("en_us.bin").toFile();
+        write(bundle, source, Map.of("a", "b"));
+        Files.writeString(source, "{\"a\":\"c\"}");
+        source.toFile().setLastModified(source.toFile().lastModified() + 2000);
+        assertNull(LangBundle.read(bundle, source.toFile()));
+        assertNull(LangBundle.read(folder.resolve("absent.bin").toFile(), source.toFile()));
+    }
+
+    @Test
+    void usesChecksumIfOnlyModifiedTimeChanged() throws IOException {
+        var folder = Files.createTempDirectory("bundle");
+        var source = Files.writeString(folder.resolve("en_us.json"), "{\"a\":\"b\"}");
+        var bundle = folder.resolve("en_us.bin").toFile();
+        write(bundle, source, Map.of("a", "b"));
+        source.toFile().setLastModified(source.toFile().lastModified() + 2000);
+        assertEquals(Map.of("a", "b"), LangBundle.read(bundle, source.toFile()));
+    }
+
+    @Test
+    void rejectsCorruptedCount() throws IOException {
+        var source = Files.writeString(Files.createTempFile("lang", ".json"), "");
+        var bundle = Files.createTempFile("bundle", ".bin");
+        try (var data = new DataOutputStream(Files.newOutputStream(bundle))) {
+            data.writeInt(0x42434C42);
+            data.writeInt(3);
+            data.writeLong(0);
+            data.writeLong(source.toFile().lastModified());
+            data.writeLong(0);
+            data.writeInt(Integer.MAX_VALUE);
+        }
+        assertNull(LangBundle.read(bundle.toFile(), source.toFile()));
+    }
+
+    private static void write(File bundle, Path source, Map<String, String> map) throws IOException {
+        LangBundle.write(bundle, Files.size(source), source.toFile().lastModified(), LangBundle.checksum(source), map);
+    }
+}
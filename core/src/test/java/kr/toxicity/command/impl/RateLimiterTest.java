@@ -0,0 +1,72 @@
+package kr.toxicity.command.impl;
+
+import kr.toxicity.command.impl.descriptor.RateLimitDescriptor;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    @Test
+    void burstsUpToPermits() {
+        var limiter = new RateLimiter(new RateLimitDescriptor(3, TimeUnit.HOURS.toNanos(1)));
+        var identity = new Object();
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.acquire(identity));
+        }
+        var wait = limiter.acquire(identity);
+        assertTrue(wait > 0);
+        assertTrue(wait <= TimeUnit.MINUTES.toNanos(20));
+    }
+
+    @Test
+    void limitsEachIdentity() {
+        var limiter = new RateLimiter(new RateLimitDescriptor(1, TimeUnit.HOURS.toNanos(1)));
+        var first = new Object();
+        var second = new Object();
+        assertEquals(0, limiter.acquire(first));
+        assertTrue(limiter.acquire(first) > 0);
+        assertEquals(0, limiter.acquire(second));
+    }
+
+    @Test
+    void refillsAfterInterval() throws InterruptedException {
+        var limiter = new RateLimiter(new RateLimitDescriptor(1, TimeUnit.MILLISECONDS.toNanos(20)));
+        var identity = new Object();
+        assertEquals(0, limiter.acquire(identity));
+        assertTrue(limiter.acquire(identity) > 0);
+        Thread.sleep(40);
+        assertEquals(0, limiter.acquire(identity));
+    }
+
+    @Test
+    void neverExceedsPermitsConcurrently() throws InterruptedException {
+        var permits = 5;
+        var limiter = new RateLimiter(new RateLimitDescriptor(permits, TimeUnit.HOURS.toNanos(1)));
+        var identity = new Object();
+        var acquired = new AtomicInteger();
+        var threads = 8;
+        var start = new CountDownLatch(1);
+        var end = new CountDownLatch(threads);
+        for (int i = 0; i < threads; i++) {
+            new Thread(() -> {
+                try {
+                    start.await();
+                    for (int j = 0; j < 1000; j++) {
+                        if (limiter.acquire(identity) == 0) acquired.incrementAndGet();
+                    }
+                } catch (InterruptedException ignored) {
+                } finally {
+                    end.countDown();
+                }
+            }).start();
+        }
+        start.countDown();
+        assertTrue(end.await(10, TimeUnit.SECONDS));
+        assertEquals(permits, acquired.get());
+    }
+}
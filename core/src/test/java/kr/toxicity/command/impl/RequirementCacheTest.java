@@ -0,0 +1,82 @@
+package kr.toxicity.command.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequirementCacheTest {
+
+    @Test
+    void cachesUntilInvalidated() {
+        var cache = new RequirementCache();
+        cache.enabled(true);
+        var calls = new AtomicInteger();
+        var allowed = new AtomicBoolean(true);
+        var source = new TestSource("a");
+        var requirement = cache.<TestSource, TestSource>requirement(SourceMapper.of(s -> s), s -> {
+            calls.incrementAndGet();
+            return allowed.get();
+        });
+        assertTrue(requirement.test(source));
+        allowed.set(false);
+        assertTrue(requirement.test(source));
+        assertEquals(1, calls.get());
+        cache.invalidate(source.identity());
+        assertFalse(requirement.test(source));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void keysByIdentity() {
+        var cache = new RequirementCache();
+        cache.enabled(true);
+        var calls = new AtomicInteger();
+        var requirement = cache.<TestSource, TestSource>requirement(SourceMapper.of(s -> s), s -> {
+            calls.incrementAndGet();
+            return true;
+        });
+        var first = new TestSource("same");
+        var second = new TestSource("same");
+        assertEquals(first.identity(), second.identity());
+        requirement.test(first);
+        requirement.test(second);
+        requirement.test(first);
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void testsDirectlyIfDisabled() {
+        var cache = new RequirementCache();
+        var calls = new AtomicInteger();
+        var requirement = cache.<TestSource, TestSource>requirement(SourceMapper.of(s -> s), s -> {
+            calls.incrementAndGet();
+            return true;
+        });
+        var source = new TestSource("a");
+        requirement.test(source);
+        requirement.test(source);
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void doesNotPinSource() {
+        var cache = new RequirementCache();
+        var maps = new AtomicInteger();
+        var mapper = SourceMapper.<TestSource, TestSource>of(s -> {
+            maps.incrementAndGet();
+            return s;
+        });
+        var requirement = cache.requirement(mapper, s -> true);
+        var source = new TestSource("a");
+        requirement.test(source);
+        requirement.test(source);
+        assertEquals(2, maps.get());
+        mapper.apply(source);
+        requirement.test(source);
+        assertEquals(3, maps.get());
+        mapper.release();
+    }
+}
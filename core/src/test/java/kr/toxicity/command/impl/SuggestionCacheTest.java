@@ -0,0 +1,38 @@
+package kr.toxicity.command.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SuggestionCacheTest {
+
+    @Test
+    void partitionsByIdentity() {
+        var cache = SuggestionCache.builder().build();
+        var first = new TestSource("first");
+        var second = new TestSource("second");
+        cache.put(ClassSerializers.STRING, first, List.of("a"));
+        assertEquals(List.of("a"), cache.get(ClassSerializers.STRING, first, List::of).values());
+        assertEquals(List.of("b"), cache.get(ClassSerializers.STRING, second, () -> List.of("b")).values());
+        assertEquals(1, cache.hits());
+        assertEquals(1, cache.misses());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed() {
+        var cache = SuggestionCache.builder().maximumSize(2).build();
+        var first = new TestSource("first");
+        var second = new TestSource("second");
+        var third = new TestSource("third");
+        cache.put(ClassSerializers.STRING, first, List.of("1"));
+        cache.put(ClassSerializers.STRING, second, List.of("2"));
+        assertNotNull(cache.getIfPresent(ClassSerializers.STRING, first));
+        cache.put(ClassSerializers.STRING, third, List.of("3"));
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.evictions());
+        assertNotNull(cache.getIfPresent(ClassSerializers.STRING, first));
+        assertNull(cache.getIfPresent(ClassSerializers.STRING, second));
+    }
+}
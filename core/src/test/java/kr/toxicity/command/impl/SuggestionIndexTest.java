@@ -0,0 +1,37 @@
+package kr.toxicity.command.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SuggestionIndexTest {
+
+    @Test
+    void findsAllEqualKeysFromFirst() {
+        var index = SuggestionIndex.of(List.of("b", "A", "a", "a", "A", "ab", "c"));
+        assertEquals(List.of("A", "a", "a", "A", "ab"), index.find("a", 10));
+        assertEquals(4, index.find("a", 4).size());
+        assertEquals(List.of("ab"), index.find("AB", 10));
+    }
+
+    @Test
+    void findsByPrefixIgnoringCase() {
+        var index = SuggestionIndex.of(List.of("Apple", "apricot", "Banana", "blueberry", "cherry"));
+        assertEquals(List.of("Apple", "apricot"), index.find("AP", 10));
+        assertEquals(List.of("Banana"), index.find("b", 1));
+        assertEquals(List.of("cherry"), index.find("cherry", 10));
+        assertEquals(index.values(), index.find("", 10));
+    }
+
+    @Test
+    void returnsEmptyIfNotMatched() {
+        var index = SuggestionIndex.of(List.of("apple", "banana"));
+        assertTrue(index.find("z", 10).isEmpty());
+        assertTrue(index.find("0", 10).isEmpty());
+        assertTrue(index.find("apples", 10).isEmpty());
+        assertTrue(index.find("apple", 0).isEmpty());
+        assertTrue(SuggestionIndex.empty().find("a", 10).isEmpty());
+    }
+}
@@ -0,0 +1,44 @@
+package kr.toxicity.command.impl;
+
+import kr.toxicity.command.BetterCommandSource;
+import kr.toxicity.command.SenderType;
+import net.kyori.adventure.audience.Audience;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Locale;
+
+/**
+ * Console source whose identity is an equal but distinct string
+ */
+final class TestSource implements BetterCommandSource {
+    private final String identity;
+
+    TestSource(@NotNull String identity) {
+        this.identity = new String(identity);
+    }
+
+    @Override
+    public @NotNull Audience audience() {
+        return Audience.empty();
+    }
+
+    @Override
+    public @NotNull Locale locale() {
+        return Locale.US;
+    }
+
+    @Override
+    public boolean hasPermission(@NotNull String permission) {
+        return true;
+    }
+
+    @Override
+    public @NotNull SenderType type() {
+        return SenderType.CONSOLE;
+    }
+
+    @Override
+    public @NotNull Object identity() {
+        return identity;
+    }
+}
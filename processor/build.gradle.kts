@@ -0,0 +1,8 @@
+dependencies {
+    implementation(project(":core"))
+    compileOnly("org.jetbrains:annotations:26.0.1")
+
+    testImplementation("com.mojang:brigadier:1.3.10")
+    testImplementation("net.kyori:adventure-api:4.18.0")
+    testImplementation("com.google.code.gson:gson:2.12.1")
+}
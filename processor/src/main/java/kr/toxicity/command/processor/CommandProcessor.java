@@ -0,0 +1,279 @@
+package kr.toxicity.command.processor;
+
+import kr.toxicity.command.CommandListener;
+import kr.toxicity.command.SenderType;
+import kr.toxicity.command.impl.annotation.*;
+import kr.toxicity.command.impl.descriptor.CommandDescriptor;
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Generates a descriptor class for each command listener.
+ * @see CommandDescriptor
+ */
+public final class CommandProcessor extends AbstractProcessor {
+
+    private final Set<String> generated = new HashSet<>();
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Set.of(Command.class.getCanonicalName());
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        var types = new LinkedHashSet<TypeElement>();
+        for (Element element : roundEnv.getElementsAnnotatedWith(Command.class)) {
+            if (element.getEnclosingElement() instanceof TypeElement type) types.add(type);
+        }
+        for (TypeElement type : types) {
+            if (!isListener(type)) {
+                error(type, type.getQualifiedName() + " has @Command methods but does not implement CommandListener.");
+                continue;
+            }
+            if (!isAccessible(type)) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, type.getQualifiedName() + " is not accessible from its package. reflection will be used.", type);
+                continue;
+            }
+            var name = CommandDescriptor.descriptorName(processingEnv.getElementUtils().getBinaryName(type).toString());
+            if (!generated.add(name)) continue;
+            var methods = new ArrayList<ExecutableElement>();
+            for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type))) {
+                if (method.getAnnotation(Command.class) == null) continue;
+                if (!method.getModifiers().contains(Modifier.PUBLIC)) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "@Command method should be public. skipped.", method);
+                    continue;
+                }
+                if (validate(method)) methods.add(method);
+            }
+            try {
+                write(type, name, methods);
+            } catch (IOException e) {
+                error(type, "Unable to generate " + name + ": " + e.getMessage());
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether this type implements CommandListener
+     * @param type target type
+     * @return whether this type is a listener
+     */
+    private boolean isListener(@NotNull TypeElement type) {
+        var listener = processingEnv.getElementUtils().getTypeElement(CommandListener.class.getCanonicalName());
+        return listener != null && processingEnv.getTypeUtils().isAssignable(
+                processingEnv.getTypeUtils().erasure(type.asType()),
+                listener.asType()
+        );
+    }
+
+    /**
+     * Checks whether generated class can access this type
+     * @param type target type
+     * @return whether accessible
+     */
+    private static boolean isAccessible(@NotNull TypeElement type) {
+        Element element = type;
+        while (element instanceof TypeElement typeElement) {
+            if (typeElement.getNestingKind() == NestingKind.ANONYMOUS || typeElement.getNestingKind() == NestingKind.LOCAL) return false;
+            if (typeElement.getModifiers().contains(Modifier.PRIVATE)) return false;
+            element = typeElement.getEnclosingElement();
+        }
+        return true;
+    }
+
+    /**
+     * Validates command method
+     * @param method target method
+     * @return whether valid
+     */
+    private boolean validate(@NotNull ExecutableElement method) {
+        if (method.getAnnotation(Description.class) == null) {
+            error(method, "@Description annotation not found in method " + method.getSimpleName() + ".");
+            return false;
+        }
+        var parameters = method.getParameters();
+        for (int i = 0; i < parameters.size() - 1; i++) {
+            var parameter = parameters.get(i);
+            if (parameter.getAnnotation(Option.class) != null || parameter.getAnnotation(Vararg.class) != null) {
+                error(parameter, "@Option or @Vararg can work only last parameter.");
+                return false;
+            }
+        }
+        var rateLimit = method.getAnnotation(RateLimit.class);
+        var cooldown = method.getAnnotation(Cooldown.class);
+        if (rateLimit != null) {
+            if (rateLimit.permits() <= 0) {
+                error(method, "@RateLimit permits must be positive.");
+                return false;
+            }
+            if (rateLimit.period() <= 0) {
+                error(method, "@RateLimit period must be positive.");
+                return false;
+            }
+        } else if (cooldown != null && cooldown.value() <= 0) {
+            error(method, "@Cooldown value must be positive.");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Writes descriptor class
+     * @param type listener type
+     * @param name descriptor class name
+     * @param methods command methods
+     * @throws IOException if write failed
+     */
+    private void write(@NotNull TypeElement type, @NotNull String name, @NotNull List<ExecutableElement> methods) throws IOException {
+        var packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        var simpleName = name.substring(name.lastIndexOf('.') + 1);
+        var listener = type.getQualifiedName().toString();
+        var file = processingEnv.getFiler().createSourceFile(name, type);
+        try (var writer = new PrintWriter(file.openWriter())) {
+            if (!packageName.isEmpty()) {
+                writer.println("package " + packageName + ";");
+                writer.println();
+            }
+            writer.println("/**");
+            writer.println(" * Generated command descriptor of {@link " + listener + "}");
+            writer.println(" */");
+            writer.println("@SuppressWarnings({\"unchecked\", \"rawtypes\"})");
+            writer.println("public final class " + simpleName + " implements kr.toxicity.command.impl.descriptor.CommandDescriptor<" + listener + "> {");
+            writer.println();
+            writer.println("    private static final java.util.List<kr.toxicity.command.impl.descriptor.MethodDescriptor<" + listener + ">> METHODS = java.util.List.of(");
+            for (int i = 0; i < methods.size(); i++) {
+                writeMethod(writer, methods.get(i));
+                writer.println(i < methods.size() - 1 ? "," : "");
+            }
+            writer.println("    );");
+            writer.println();
+            writer.println("    @Override");
+            writer.println("    public java.util.List<kr.toxicity.command.impl.descriptor.MethodDescriptor<" + listener + ">> methods() {");
+            writer.println("        return METHODS;");
+            writer.println("    }");
+            writer.println("}");
+        }
+    }
+
+    /**
+     * Writes method descriptor
+     * @param writer writer
+     * @param method command method
+     */
+    private void writeMethod(@NotNull PrintWriter writer, @NotNull ExecutableElement method) {
+        var description = method.getAnnotation(Description.class);
+        var permission = method.getAnnotation(Permission.class);
+        var aliases = method.getAnnotation(Aliases.class);
+        var sender = method.getAnnotation(Sender.class);
+        var parameters = method.getParameters();
+        writer.println("            new kr.toxicity.command.impl.descriptor.MethodDescriptor<>(");
+        writer.println("                    " + literal(method.getSimpleName().toString()) + ",");
+        writer.println("                    " + literal(description.key()) + ",");
+        writer.println("                    " + literal(description.defaultValue()) + ",");
+        writer.println("                    " + (permission != null ? literal(permission.value()) : "null") + ",");
+        writer.println("                    new String[] {" + (aliases != null ? Arrays.stream(aliases.aliases()).map(CommandProcessor::literal).collect(Collectors.joining(", ")) : "") + "},");
+        writer.println("                    " + (sender != null ? "new " + SenderType.class.getCanonicalName() + "[] {" + Arrays.stream(sender.type())
+                .map(t -> SenderType.class.getCanonicalName() + "." + t.name())
+                .collect(Collectors.joining(", ")) + "}" : SenderType.class.getCanonicalName() + ".values()") + ",");
+        writer.println("                    " + (method.getAnnotation(Async.class) != null || method.getEnclosingElement().getAnnotation(Async.class) != null) + ",");
+        writer.println("                    " + rateLimit(method) + ",");
+        writer.println("                    java.util.List.of(" + parameters.stream().map(p -> {
+            var option = p.getAnnotation(Option.class) != null;
+            return "new kr.toxicity.command.impl.descriptor.ParameterDescriptor("
+                    + literal(p.getSimpleName().toString()) + ", "
+                    + typeName(p.asType()) + ".class, "
+                    + (p.getAnnotation(Source.class) != null) + ", "
+                    + option + ", "
+                    + (p.getAnnotation(Vararg.class) != null) + ", "
+                    + (!option && p.getAnnotation(CanBeNull.class) != null) + ")";
+        }).collect(Collectors.joining(", ")) + "),");
+        var args = new StringJoiner(", ");
+        for (int i = 0; i < parameters.size(); i++) {
+            args.add("(" + typeName(parameters.get(i).asType()) + ") args[" + i + "]");
+        }
+        var receiver = method.getModifiers().contains(Modifier.STATIC)
+                ? ((TypeElement) method.getEnclosingElement()).getQualifiedName().toString()
+                : "listener";
+        var call = receiver + "." + method.getSimpleName() + "(" + args + ")";
+        writer.println("                    (listener, args) -> " + (method.getReturnType().getKind() == TypeKind.VOID ? "{ " + call + "; return null; }" : call));
+        writer.print("            )");
+    }
+
+    /**
+     * Creates rate limit descriptor expression
+     * @param method command method
+     * @return expression
+     */
+    private static @NotNull String rateLimit(@NotNull ExecutableElement method) {
+        var rateLimit = method.getAnnotation(RateLimit.class);
+        var cooldown = method.getAnnotation(Cooldown.class);
+        if (rateLimit == null && cooldown == null) return "null";
+        var permits = rateLimit != null ? rateLimit.permits() : 1;
+        var period = rateLimit != null ? rateLimit.unit().toNanos(rateLimit.period()) : cooldown.unit().toNanos(cooldown.value());
+        return "new kr.toxicity.command.impl.descriptor.RateLimitDescriptor(" + permits + ", " + period + "L)";
+    }
+
+    /**
+     * Gets erased type name without type annotations
+     * @param mirror type
+     * @return type name
+     */
+    private @NotNull String typeName(@NotNull TypeMirror mirror) {
+        var erased = processingEnv.getTypeUtils().erasure(mirror);
+        if (erased.getKind().isPrimitive()) return erased.getKind().name().toLowerCase(Locale.ROOT);
+        if (erased instanceof ArrayType array) return typeName(array.getComponentType()) + "[]";
+        return ((TypeElement) processingEnv.getTypeUtils().asElement(erased)).getQualifiedName().toString();
+    }
+
+    /**
+     * Creates java string literal
+     * @param value raw string
+     * @return literal
+     */
+    private static @NotNull String literal(@NotNull String value) {
+        var builder = new StringBuilder(value.length() + 2).append('"');
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> builder.append("\\\"");
+                case '\\' -> builder.append("\\\\");
+                case '\n' -> builder.append("\\n");
+                case '\r' -> builder.append("\\r");
+                case '\t' -> builder.append("\\t");
+                default -> {
+                    if (c < 0x20 || c > 0x7e) builder.append(String.format("\\u%04x", (int) c));
+                    else builder.append(c);
+                }
+            }
+        }
+        return builder.append('"').toString();
+    }
+
+    /**
+     * Prints error
+     * @param element target element
+     * @param message message
+     */
+    private void error(@NotNull Element element, @NotNull String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
@@ -0,0 +1,199 @@
+package kr.toxicity.command.processor;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import kr.toxicity.command.BetterCommandSource;
+import kr.toxicity.command.CommandListener;
+import kr.toxicity.command.SenderType;
+import kr.toxicity.command.impl.BetterCommand;
+import kr.toxicity.command.impl.descriptor.CommandDescriptor;
+import kr.toxicity.command.impl.descriptor.ParameterDescriptor;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.serializer.ComponentSerializer;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.*;
+import java.io.IOException;
+import java.lang.reflect.Parameter;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CommandProcessorTest {
+
+    private static final ComponentSerializer<Component, Component, String> SERIALIZER = new ComponentSerializer<>() {
+        @Override
+        public @NotNull Component deserialize(@NotNull String input) {
+            return Component.text(input);
+        }
+
+        @Override
+        public @NotNull String serialize(@NotNull Component component) {
+            return component instanceof TextComponent text ? text.content() : "";
+        }
+    };
+
+    private static final BetterCommandSource SOURCE = new BetterCommandSource() {
+        @Override
+        public @NotNull Audience audience() {
+            return Audience.empty();
+        }
+
+        @Override
+        public @NotNull Locale locale() {
+            return Locale.US;
+        }
+
+        @Override
+        public boolean hasPermission(@NotNull String permission) {
+            return true;
+        }
+
+        @Override
+        public @NotNull SenderType type() {
+            return SenderType.CONSOLE;
+        }
+    };
+
+    @Test
+    void acceptsValidRateLimit() {
+        assertTrue(errors("@RateLimit(permits = 3, period = 10) @Cooldown(0)").isEmpty());
+        assertTrue(errors("@Cooldown(5)").isEmpty());
+    }
+
+    @Test
+    void rejectsNonPositivePermits() {
+        assertEquals(List.of("@RateLimit permits must be positive."), errors("@RateLimit(permits = 0, period = 10)"));
+    }
+
+    @Test
+    void rejectsNonPositivePeriod() {
+        assertEquals(List.of("@RateLimit period must be positive."), errors("@RateLimit(permits = 1, period = -1)"));
+    }
+
+    @Test
+    void rejectsNonPositiveCooldown() {
+        assertEquals(List.of("@Cooldown value must be positive."), errors("@Cooldown(0)"));
+    }
+
+    @Test
+    void dispatchesByGeneratedDescriptor() throws IOException, ReflectiveOperationException, CommandSyntaxException {
+        var output = Files.createTempDirectory("processor");
+        var errors = compile("test/AddListener", """
+                package test;
+
+                import kr.toxicity.command.BetterCommandSource;
+                import kr.toxicity.command.CommandListener;
+                import kr.toxicity.command.impl.annotation.*;
+
+                import java.util.function.Consumer;
+
+                public class AddListener implements CommandListener {
+                    private final Consumer<Integer> consumer;
+
+                    public AddListener(Consumer<Integer> consumer) {
+                        this.consumer = consumer;
+                    }
+
+                    @Command
+                    @Description(key = "add")
+                    public void add(@Source BetterCommandSource source, int amount) {
+                        consumer.accept(amount);
+                    }
+                }
+                """, "-parameters", "-d", output.toString(), "-s", output.toString());
+        assertEquals(List.of(), errors);
+        try (var loader = new URLClassLoader(new URL[] { output.toUri().toURL() }, CommandProcessorTest.class.getClassLoader())) {
+            var clazz = loader.loadClass("test.AddListener").asSubclass(CommandListener.class);
+            var descriptor = CommandDescriptor.find(clazz);
+            assertNotNull(descriptor);
+            assertEquals("test.AddListener" + CommandDescriptor.SUFFIX, descriptor.getClass().getName());
+            //A generated descriptor has the same parameter names as reflection.
+            assertEquals(
+                    Arrays.stream(clazz.getMethod("add", BetterCommandSource.class, int.class).getParameters()).map(Parameter::getName).toList(),
+                    descriptor.methods().get(0).parameters().stream().map(ParameterDescriptor::name).toList()
+            );
+
+            var values = new ArrayList<Integer>();
+            var listener = clazz.getConstructor(Consumer.class).newInstance((Consumer<Integer>) values::add);
+            var dispatcher = new CommandDispatcher<BetterCommandSource>();
+            new BetterCommand(Files.createTempDirectory("command").toFile(), SERIALIZER)
+                    .<BetterCommandSource>module("calc")
+                    .executes(listener)
+                    .build((BetterCommandSource source) -> source)
+                    .forEach(dispatcher::register);
+            dispatcher.execute("calc add 3", SOURCE);
+            assertEquals(List.of(3), values);
+        }
+    }
+
+    /**
+     * Processes a listener having a command method with these annotations
+     * @param annotations annotations of command method
+     * @return error messages
+     */
+    private static List<String> errors(String annotations) {
+        Path output;
+        try {
+            output = Files.createTempDirectory("processor");
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return compile("test/TestListener", """
+                package test;
+
+                import kr.toxicity.command.CommandListener;
+                import kr.toxicity.command.impl.annotation.*;
+
+                public class TestListener implements CommandListener {
+                    @Command
+                    @Description(key = "test")
+                    %s
+                    public void test() {
+                    }
+                }
+                """.formatted(annotations), "-proc:only", "-s", output.toString());
+    }
+
+    /**
+     * Compiles a source with the command processor
+     * @param name path of source without extension
+     * @param source source code
+     * @param options compiler options
+     * @return error messages
+     */
+    private static List<String> compile(String name, String source, String... options) {
+        var file = new SimpleJavaFileObject(URI.create("string:///" + name + ".java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return source;
+            }
+        };
+        var compiler = ToolProvider.getSystemJavaCompiler();
+        var diagnostics = new DiagnosticCollector<JavaFileObject>();
+        var arguments = new ArrayList<String>();
+        arguments.add("-classpath");
+        arguments.add(System.getProperty("java.class.path"));
+        arguments.addAll(Arrays.asList(options));
+        var task = compiler.getTask(null, null, diagnostics, arguments, null, List.of(file));
+        task.setProcessors(List.of(new CommandProcessor()));
+        task.call();
+        var errors = new ArrayList<String>();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR) errors.add(diagnostic.getMessage(null));
+        }
+        return errors;
+    }
+}
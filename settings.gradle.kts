@@ -2,5 +2,7 @@ rootProject.name = "BetterCommand"
 
 include(
     "core",
+    "benchmark",
+    "processor",
     "test-plugin"
 )
\ No newline at end of file
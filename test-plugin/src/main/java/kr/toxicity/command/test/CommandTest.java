@@ -66,6 +66,7 @@ public class CommandTest extends JavaPlugin {
                         .nullMessage(new CommandMessage("test.null.location", Component.text("Location not found in [value]!")))
                         .build()
         );
+        library.mainThreadExecutor(task -> Bukkit.getScheduler().runTask(this, task));
         var teleportMessage = library.registerKey(new CommandMessage("test.teleport.message", Component.text("Go!")));
         //Create command
         var command = library.module("mycommand")
@@ -91,27 +92,25 @@ public class CommandTest extends JavaPlugin {
                     @Command
                     @Description(key = "test.generate", defaultValue = "Generates default lang file.")
                     @Permission("test.generated")
+                    @Async
                     public void generate(@Source BetterCommandSource me) {
-                        Bukkit.getScheduler().runTaskAsynchronously(CommandTest.this, () -> {
-                            if (library.generateDefaultLang(me.locale())) me.audience().sendMessage(Component.text("Successfully generated."));
-                            else me.audience().sendMessage(Component.text("Generation failed."));
-                        });
+                        if (library.generateDefaultLang(me.locale())) me.audience().sendMessage(Component.text("Successfully generated."));
+                        else me.audience().sendMessage(Component.text("Generation failed."));
                     }
 
                     @Command
                     @Description(key = "test.reload", defaultValue = "Reloads command.")
                     @Permission("test.reload")
+                    @Async
                     public void reload(@Source BetterCommandSource me) {
-                        Bukkit.getScheduler().runTaskAsynchronously(CommandTest.this, () -> {
-                            var state = library.reload();
-                            if (state instanceof ReloadState.Success success) {
-                                me.audience().sendMessage(Component.text("Reload completes: " + success.time() + " ms"));
-                            } else if (state instanceof ReloadState.Failure failure) {
-                                me.audience().sendMessage(Component.text("Reload failures. Reason: " + failure.exception().getClass().getSimpleName()));
-                            } else if (state instanceof ReloadState.OnReload) {
-                                me.audience().sendMessage(Component.text("Still on reload!"));
-                            }
-                        });
+                        var state = library.reload();
+                        if (state instanceof ReloadState.Success success) {
+                            me.audience().sendMessage(Component.text("Reload completes: " + success.time() + " ms"));
+                        } else if (state instanceof ReloadState.Failure failure) {
+                            me.audience().sendMessage(Component.text("Reload failures. Reason: " + failure.exception().getClass().getSimpleName()));
+                        } else if (state instanceof ReloadState.OnReload) {
+                            me.audience().sendMessage(Component.text("Still on reload!"));
+                        }
                     }
 
                     @Command